@@ -0,0 +1,342 @@
+package old;
+
+import java.util.*;
+
+import static old.Trie.*;
+
+/**
+ * <p>
+ * === Anagram Index ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  The words of a {@link Trie} by the letters they are made of,
+ * no matter the order. All of the anagrams of a set of letters
+ * are found with a single lookup, so the words that can be made
+ * from some characters are found by looking up each set of those
+ * characters that could make a word, rather than walking every
+ * order of the characters through the Trie.
+ * </p><p>
+ *  The letters of a word are counted into two longs, four bits
+ * for each of 13 letters in each. The few words with a letter
+ * more than 15 times are kept to the side and checked one by one.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class AnagramIndex {
+
+    /** The number of letters counted in each long **/
+    private static final int HALF = ALPHABET / 2;
+    /** The bits of each count **/
+    private static final int BITS = 4;
+    /** The most of a letter that can be counted **/
+    private static final int MAX_COUNT = (1 << BITS) - 1;
+
+    /** Every other count of a long, each given a byte **/
+    private static final long EVEN = 0x0F0F0F0F0F0F0F0FL;
+    /** The top bit of each byte **/
+    private static final long GUARD = 0x8080808080808080L;
+
+    /** Where the anagrams of each set of letters are kept **/
+    private final Map<Letters, Integer> slots = new HashMap<>();
+    /** The anagrams of each set of letters, by slot **/
+    private final List<List<Word>> words = new ArrayList<>();
+    /** The counts of 'A' to 'M' of each set of letters, by slot, see {@link Letters} **/
+    private long[] lows = new long[1024];
+    /** The counts of 'N' to 'Z' of each set of letters, by slot **/
+    private long[] highs = new long[1024];
+    /** The words with a letter more than {@link #MAX_COUNT} times **/
+    private final List<Word> overflow = new ArrayList<>();
+
+    /**
+     *  Initializes the index to have no words.
+     */
+    public AnagramIndex() {}
+
+    /**
+     *  Initializes the index to have the given words.
+     * @param words the words to add, see {@link #add(String)}
+     */
+    public AnagramIndex(Iterable<String> words) {
+        for (String word : words)
+            add(word);
+    }
+
+    /**
+     *  Adds a word to the index, the word is expected to be upper
+     * case letters and not already added.
+     * @param word the word to add
+     */
+    public synchronized void add(String word) {
+        Word add = new Word(word);
+        int[] counts = new int[ALPHABET];
+        for (int i=0; i<word.length(); ++i) {
+            if (++counts[word.charAt(i) - 'A'] > MAX_COUNT) {
+                overflow.add(add);
+                return;
+            }
+        }
+
+        Letters letters = new Letters(counts);
+        Integer slot = slots.get(letters);
+
+        if (slot == null) {
+            slot = words.size();
+            if (slot == lows.length) {
+                lows = Arrays.copyOf(lows, slot * 2);
+                highs = Arrays.copyOf(highs, slot * 2);
+            }
+            lows[slot] = letters.low;
+            highs[slot] = letters.high;
+            slots.put(letters, slot);
+            words.add(new ArrayList<>(1));
+        }
+        words.get(slot).add(add);
+    }
+
+    /**
+     *  Gets the words that can be created with the given characters.
+     * The character {@link Trie#SINGLE_WILD_CARD} can be used as any
+     * character 'A' to 'Z'. Each word is given once.
+     * @param chars the characters to find words built from
+     * @return the words sorted to highest Scrabble score, null if
+     * a character is not allowed
+     */
+    public List<String> wordsFromCharacters(String chars) {
+        chars = chars.toUpperCase();
+
+        for (int i=0; i<chars.length(); ++i) {
+            char c = chars.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        return (wordsFromCharacters(new CharacterCounter(chars.toCharArray())));
+    }
+
+    /**
+     *  Gets the words that can be created with the given characters.
+     * @see #wordsFromCharacters(String)
+     * @param chars the characters to use to build the words
+     * @return the words sorted to highest Scrabble score
+     */
+    public List<String> wordsFromCharacters(CharacterCounter chars) {
+        return (find(rack(chars)));
+    }
+
+    /**
+     *  Finds the words that can be created with the counted characters.
+     * When there are far fewer sets of the characters than sets of letters
+     * in the index each set is looked up, otherwise every set of letters
+     * in the index is checked against the characters, which is a handful
+     * of operations on the packed counts.
+     * @param rack the counts of the characters, see {@link Trie#rack(CharacterCounter)}
+     * @return the words sorted to highest Scrabble score
+     */
+    synchronized List<String> find(int[] rack) {
+        List<Word> found = new ArrayList<>();
+
+        /** Divided rather than multiplied, subsets can be Long.MAX_VALUE **/
+        if (subsets(rack) <= words.size() / 8) {
+            find(rack, 0, rack[ALPHABET], 0L, 0L, found);
+        } else {
+            Letters have = new Letters(rack);
+            int blanks = rack[ALPHABET];
+            for (int i=0; i<words.size(); ++i) {
+                if (excess(lows[i], have.low) + excess(highs[i], have.high) <= blanks)
+                    found.addAll(words.get(i));
+            }
+        }
+
+        for (Word word : overflow) {
+            if (fits(word.text, rack))
+                found.add(word);
+        }
+
+        found.sort(Word::compare);
+
+        List<String> ret = new ArrayList<>(found.size());
+        for (Word word : found)
+            ret.add(word.text);
+        return (ret);
+    }
+
+    /**
+     *  Looks up each set of letters that can be made from the counted
+     * characters, choosing how many of each letter one at a time.
+     * @param rack   the counts of the characters
+     * @param letter the letter to choose the count of, 0 for 'A' to 25 for 'Z'
+     * @param blanks the wild cards not yet used
+     * @param low    the counts chosen so far of 'A' to 'M', see {@link Letters}
+     * @param high   the counts chosen so far of 'N' to 'Z'
+     * @param found  the words found
+     */
+    private void find(int[] rack, int letter, int blanks, long low, long high, List<Word> found) {
+        /** Without wild cards left only the letters of the rack can be chosen **/
+        if (blanks == 0) {
+            while (letter < ALPHABET && rack[letter] == 0)
+                ++letter;
+        }
+
+        if (letter == ALPHABET) {
+            Integer slot = slots.get(new Letters(low, high));
+            if (slot != null)
+                found.addAll(words.get(slot));
+            return;
+        }
+
+        int most = Math.min(MAX_COUNT, rack[letter] + blanks);
+        int shift = BITS * (letter % HALF);
+        for (long count=0; count<=most; ++count) {
+            int left = blanks - Math.max(0, (int) count - rack[letter]);
+            if (letter < HALF)
+                find(rack, letter + 1, left, low | (count << shift), high, found);
+            else
+                find(rack, letter + 1, left, low, high | (count << shift), found);
+        }
+    }
+
+    /**
+     *  An upper bound on the number of sets of letters that can be made
+     * from the counted characters, each letter taken up to its count and
+     * up to the wild cards taken as any letters.
+     * @param rack the counts of the characters
+     * @return the bound, at most {@link Long#MAX_VALUE}
+     */
+    private static long subsets(int[] rack) {
+        /** The ways to choose up to b letters of 26, (26 + b) choose b **/
+        long total = 1;
+        for (int b=1; b<=rack[ALPHABET]; ++b) {
+            total = total * (ALPHABET + b) / b;
+            if (total > Integer.MAX_VALUE)
+                return (Long.MAX_VALUE);
+        }
+
+        for (int i=0; i<ALPHABET; ++i) {
+            total *= rack[i] + 1;
+            if (total > Integer.MAX_VALUE)
+                return (Long.MAX_VALUE);
+        }
+        return (total);
+    }
+
+    /**
+     *  Counts how many more letters are needed than are had, adding up
+     * over each letter what is needed past what is had. Works on eight
+     * counts at a time, each spread out to a byte with its top bit set,
+     * so that taking away what is had cannot borrow from the next count
+     * and the top bit stays set only where the need is at least the have.
+     * @param need the packed counts needed, see {@link Letters}
+     * @param have the packed counts had
+     * @return the number of letters short
+     */
+    private static long excess(long need, long have) {
+        return (excess8(need & EVEN, have & EVEN) + excess8((need >>> BITS) & EVEN, (have >>> BITS) & EVEN));
+    }
+
+    /**
+     * @see #excess(long, long)
+     * @param need a count needed in the low bits of each byte
+     * @param have a count had in the low bits of each byte
+     * @return the number of letters short over the bytes
+     */
+    private static long excess8(long need, long have) {
+        long diff = (need | GUARD) - have;
+        long short_by = diff & GUARD;
+        short_by -= short_by >>> 7;
+        return (((diff & short_by) * 0x0101010101010101L) >>> 56);
+    }
+
+    /**
+     * @param word the word to check
+     * @param rack the counts of the characters
+     * @return if the word can be made from the characters
+     */
+    private static boolean fits(String word, int[] rack) {
+        int[] counts = new int[ALPHABET];
+        for (int i=0; i<word.length(); ++i)
+            ++counts[word.charAt(i) - 'A'];
+
+        int blanks = rack[ALPHABET];
+        for (int i=0; i<ALPHABET; ++i)
+            blanks -= Math.max(0, counts[i] - rack[i]);
+        return (blanks >= 0);
+    }
+
+    /**
+     *  The counts of the letters of a word, as the key of its anagrams.
+     */
+    private static final class Letters {
+
+        /** The counts of 'A' to 'M' **/
+        private final long low;
+        /** The counts of 'N' to 'Z' **/
+        private final long high;
+
+        /**
+         * @param counts the count of 'A' + i at index i, any above {@link #MAX_COUNT}
+         * are counted as {@link #MAX_COUNT}
+         */
+        private Letters(int[] counts) {
+            long low = 0L;
+            long high = 0L;
+            for (int i=0; i<HALF; ++i) {
+                low |= (long) Math.min(counts[i], MAX_COUNT) << (BITS * i);
+                high |= (long) Math.min(counts[HALF + i], MAX_COUNT) << (BITS * i);
+            }
+            this.low = low;
+            this.high = high;
+        }
+
+        /**
+         * @param low  see {@link #low}
+         * @param high see {@link #high}
+         */
+        private Letters(long low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Letters))
+                return (false);
+            Letters other = (Letters) o;
+            return (low == other.low && high == other.high);
+        }
+
+        @Override
+        public int hashCode() {
+            return (Long.hashCode(low * 31 + high));
+        }
+    }
+
+    /**
+     *  A word in the index along with its score.
+     */
+    private static final class Word {
+
+        /** The word **/
+        private final String text;
+        /** The Scrabble score of the word **/
+        private final int score;
+
+        /**
+         * @param text the word
+         */
+        private Word(String text) {
+            this.text = text;
+            this.score = wordScore(text);
+        }
+
+        /**
+         *  Compares by score, highest first, then alphabetically.
+         * @param a the first word to compare
+         * @param b the second word to compare
+         * @return negative if a comes before b, zero if the same, positive if after
+         */
+        private static int compare(Word a, Word b) {
+            int result = b.score - a.score;
+            return ((result == 0) ? a.text.compareTo(b.text) : result);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package old;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * === Concurrent Priority Queue Set ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  The thread safe counterpart of the {@link PriorityQueueTreeSet}, a
+ * priority queue holding each element once that any number of threads
+ * can offer to and poll from without a lock. The queue is a lock-free
+ * skip list in priority order, and a second skip list in the set ordering
+ * is the gate: an element is only queued by the thread that got it into
+ * the gate, so two threads offering the same element at once add it once.
+ * </p><p>
+ *  Each element queued is given its own entry, numbered in the order
+ * they were offered, so elements of the same priority are polled first
+ * come first served. An entry belongs to the one thread that marks it
+ * taken, before it leaves the queue or the gate. From then on the element
+ * can be offered again, the new entry replacing the taken one in the gate,
+ * and any thread that comes across the taken entry in the queue takes it out.
+ * </p><p>
+ *  Like the other concurrent collections, the size, iteration and
+ * {@link #contains(Object)} give a view that may already be out of date
+ * by the time it is used, an element being offered or polled can be seen
+ * by one but not the other.
+ * </p>
+ * @param <E> if the type is not {@link Comparable} then use the
+ * {@link ConcurrentPriorityQueueSet#ConcurrentPriorityQueueSet(Comparator)} or the
+ * {@link ConcurrentPriorityQueueSet#ConcurrentPriorityQueueSet(Comparator, Comparator)} constructor
+ */@SuppressWarnings("unused")
+public final class ConcurrentPriorityQueueSet<E> extends AbstractQueue<E> {
+
+    /** The entries queued, in priority order then the order offered **/
+    private final ConcurrentSkipListMap<Entry<E>, Boolean> queue;
+    /** The entry of each element held, by the set ordering **/
+    private final ConcurrentSkipListMap<E, Entry<E>> gate;
+    /** The number of the next entry **/
+    private final AtomicLong next = new AtomicLong();
+    /** The number of elements queued **/
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     *  Initializes the structure, uses the type compare method.
+     */
+    public ConcurrentPriorityQueueSet() {
+        this(null, null);
+    }
+
+    /**
+     *  Initializes the structure, uses the given comparator for ordering.
+     * @param comparator the ordering
+     */
+    public ConcurrentPriorityQueueSet(Comparator<? super E> comparator) {
+        this(comparator, comparator);
+    }
+
+    /**
+     *  Initializes the structure, uses the given comparators for the ordering.
+     * This allows for separate ordering in the queue and set.
+     * @param queue_comp the queue ordering, null for the type compare method
+     * @param set_comp   the set ordering, null for the type compare method
+     */
+    public ConcurrentPriorityQueueSet(Comparator<? super E> queue_comp, Comparator<? super E> set_comp) {
+        Comparator<? super E> order = (queue_comp != null) ? queue_comp : ConcurrentPriorityQueueSet::natural;
+        this.queue = new ConcurrentSkipListMap<>((a, b) -> {
+            int result = order.compare(a.element, b.element);
+            return ((result == 0) ? Long.compare(a.number, b.number) : result);
+        });
+        this.gate = new ConcurrentSkipListMap<>(set_comp);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Unlike other queues, elements already held give false instead of throwing.
+     * </p>
+     */
+    @Override
+    public boolean add(E e) {
+        return (offer(e));
+    }
+
+    /**
+     * @throws NullPointerException if the element is null
+     * @param e the element to add
+     * @return true if added, false if an element the same by the set ordering is already held
+     */
+    @Override
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+
+        Entry<E> entry = new Entry<>(e, next.getAndIncrement());
+        for (Entry<E> held; (held = gate.putIfAbsent(e, entry)) != null; ) {
+            /** Held until taken, after which it is only waiting to be let go of **/
+            if (!held.taken.get())
+                return (false);
+            if (gate.replace(e, held, entry))
+                break;
+        }
+
+        queue.put(entry, Boolean.TRUE);
+        size.incrementAndGet();
+        return (true);
+    }
+
+    @Override
+    public E peek() {
+        Entry<E> entry = first();
+        return ((entry == null) ? null : entry.element);
+    }
+
+    @Override
+    public E poll() {
+        for (Entry<E> entry; (entry = first()) != null; ) {
+            /** Whoever marks the entry taken owns it, the others look again **/
+            boolean owned = entry.taken.compareAndSet(false, true);
+            queue.remove(entry);
+
+            if (owned) {
+                size.decrementAndGet();
+                gate.remove(entry.element, entry);
+                return (entry.element);
+            }
+        }
+        return (null);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Entry<E> entry = (o == null) ? null : gate.get(o);
+        return (entry != null && !entry.taken.get());
+    }
+
+    /**
+     *  Removes an element from wherever it is in the queue.
+     * @param o the element to remove, by the set ordering
+     * @return true if this call removed the element, false if it was
+     * not held or was taken by another thread first
+     */
+    @Override
+    public boolean remove(Object o) {
+        Entry<E> entry = (o == null) ? null : gate.get(o);
+
+        /** Whoever marks the entry taken owns it **/
+        if (entry == null || !entry.taken.compareAndSet(false, true))
+            return (false);
+
+        queue.remove(entry);
+        size.decrementAndGet();
+        gate.remove(entry.element, entry);
+        return (true);
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null);
+    }
+
+    @Override
+    public int size() {
+        return (Math.max(0, size.get()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (first() == null);
+    }
+
+    /**
+     *  Gets the first entry of the queue that is not taken, taking out
+     * those before it that are.
+     * @return the first entry, null if none
+     */
+    private Entry<E> first() {
+        for (Map.Entry<Entry<E>, Boolean> first; (first = queue.firstEntry()) != null; ) {
+            Entry<E> entry = first.getKey();
+            if (!entry.taken.get())
+                return (entry);
+            queue.remove(entry);
+        }
+        return (null);
+    }
+
+    /**
+     *  Goes over the elements in priority order, as they are while going
+     * over them. Elements cannot be removed through the iterator.
+     * @return an iterator over the elements
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<Entry<E>> entries = queue.keySet().iterator();
+        return (new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return (entries.hasNext());
+            }
+
+            @Override
+            public E next() {
+                return (entries.next().element);
+            }
+        });
+    }
+
+    /**
+     * @param a the first element to compare
+     * @param b the second element to compare
+     * @param <E> the type of element
+     * @return the natural ordering of the elements
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> int natural(E a, E b) {
+        return (((Comparable<? super E>) a).compareTo(b));
+    }
+
+    /**
+     *  An element queued and the order it was offered in.
+     * @param <E> the type of element
+     */
+    private static final class Entry<E> {
+
+        /** The element **/
+        private final E element;
+        /** The number of the entry, unique to it **/
+        private final long number;
+        /** Set by the one thread that polls or removes the entry **/
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        /**
+         * @param element see {@link #element}
+         * @param number  see {@link #number}
+         */
+        private Entry(E element, long number) {
+            this.element = element;
+            this.number = number;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package old;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static old.Trie.*;
+
+/**
+ * <p>
+ * === Concurrent Trie ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A trie that words can be added to while any number of threads
+ * are searching it, without the searches taking any lock. All of
+ * the searches of the {@link WordGraph} can be used.
+ * </p><p>
+ *  Nodes are never removed or moved, only added. Each node is a
+ * single long holding its child mask, if it ends a word, and where
+ * its children start in the edges, which is written at once so a
+ * reader always sees a whole node. Giving a node a new child writes
+ * a new copy of its children, then points the node at it, so the
+ * children a reader is looking at are never changed under it. A
+ * search running while words are added finds each new word or not,
+ * but never a broken one, and once {@link #add(String)} returns
+ * every search started after it finds the word.
+ * </p><p>
+ *  Writers are one at a time, {@link #add(String)} is synchronized.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class ConcurrentTrie extends WordGraph {
+
+    /** The number of nodes or edges in a page, as a shift **/
+    private static final int PAGE_BITS = 12;
+    /** The number of nodes or edges in a page **/
+    private static final int PAGE = 1 << PAGE_BITS;
+
+    /** Set in the state of a node that ends a word, above the 26 child bits **/
+    private static final long WORD_BIT = 1L << ALPHABET;
+    /** The child bits of the state of a node **/
+    private static final long MASK_BITS = WORD_BIT - 1;
+
+    /** The node all words start from **/
+    private static final int ROOT = 0;
+
+    /**
+     *  The state of each node: the child mask, {@link #WORD_BIT} and,
+     * in the upper half, where the children start in {@link #edges}.
+     * Replaced by a longer copy when full.
+     */
+    private volatile AtomicLongArray[] states = new AtomicLongArray[] { new AtomicLongArray(PAGE) };
+    /**
+     *  The children of all of the nodes, in pages so that no copy
+     * of the children ever has to move. Replaced by a longer copy
+     * when full.
+     */
+    private volatile int[][] edges = new int[][] { new int[PAGE] };
+
+    /** The number of nodes **/
+    private volatile int nodes = 1;
+    /** The next free edge, only used by the writer **/
+    private int next = 0;
+    /** The number of words **/
+    private volatile int words = 0;
+
+    /**
+     *  Initializes the trie to have no words.
+     */
+    public ConcurrentTrie() {}
+
+    /**
+     *  Initializes the trie to have the given words.
+     * @param words the words to add, see {@link #add(String)}
+     */
+    public ConcurrentTrie(Iterable<String> words) {
+        for (String word : words)
+            add(word);
+    }
+
+    /**
+     *  Adds a word to the trie, searches running at the same time do
+     * not wait for it.
+     * @param word the word to add to the trie
+     * @return true if the word was added, false if the string is empty,
+     * is not a word (has character not in the Latin alphabet) or if the
+     * word has already been added
+     */
+    public synchronized boolean add(String word) {
+        word = word.toUpperCase();
+
+        if (word.isEmpty())
+            return (false);
+        for (int i=0; i<word.length(); ++i) {
+            if (!isUpperAlpha(word.charAt(i)))
+                return (false);
+        }
+
+        int n = ROOT;
+
+        for (int i=0; i<word.length(); ++i) {
+            int letter = word.charAt(i) - 'A';
+            int child = child(n, letter);
+
+            if (child == NONE) {
+                child = node();
+                link(n, letter, child);
+            }
+            n = child;
+        }
+
+        long state = state(n);
+        if ((state & WORD_BIT) != 0)
+            return (false);
+
+        set(n, state | WORD_BIT);
+        ++words;
+        return (true);
+    }
+
+    @Override
+    public int words() {
+        return (words);
+    }
+
+    @Override
+    int root() {
+        return (ROOT);
+    }
+
+    @Override
+    int mask(int node) {
+        return ((int) (state(node) & MASK_BITS));
+    }
+
+    @Override
+    boolean word(int node) {
+        return ((state(node) & WORD_BIT) != 0);
+    }
+
+    @Override
+    int child(int node, int letter) {
+        long state = state(node);
+        long bit = 1L << letter;
+
+        if ((state & bit) == 0)
+            return (NONE);
+
+        int edge = (int) (state >>> Integer.SIZE) + Long.bitCount(state & (bit - 1));
+        return (edges[edge >>> PAGE_BITS][edge & (PAGE - 1)]);
+    }
+
+    @Override
+    public int size() {
+        return (nodes);
+    }
+
+    /**
+     * @param node the node
+     * @return the state of the node, read at once
+     */
+    private long state(int node) {
+        return (states[node >>> PAGE_BITS].get(node & (PAGE - 1)));
+    }
+
+    /**
+     *  Replaces the state of a node, everything written before
+     * is seen by any reader that sees the new state.
+     * @param node  the node
+     * @param state the new state of the node
+     */
+    private void set(int node, long state) {
+        states[node >>> PAGE_BITS].set(node & (PAGE - 1), state);
+    }
+
+    /**
+     * @return a new node with no children that is not a word
+     */
+    private int node() {
+        int node = nodes;
+
+        if ((node & (PAGE - 1)) == 0) {
+            AtomicLongArray[] grown = Arrays.copyOf(states, states.length + 1);
+            grown[grown.length - 1] = new AtomicLongArray(PAGE);
+            states = grown;
+        }
+
+        nodes = node + 1;
+        return (node);
+    }
+
+    /**
+     *  Gives a node a new child, through a new copy of its children.
+     * @param node   the node to add the child to
+     * @param letter the character of the child, 0 for 'A' to 25 for 'Z'
+     * @param child  the child
+     */
+    private void link(int node, int letter, int child) {
+        long state = state(node);
+        long bit = 1L << letter;
+        int count = Long.bitCount(state & MASK_BITS);
+        int rank = Long.bitCount(state & (bit - 1));
+        int from = (int) (state >>> Integer.SIZE);
+
+        /** A copy never crosses pages, the rest of a page is skipped if too short **/
+        if ((next & (PAGE - 1)) + count + 1 > PAGE)
+            next = (next | (PAGE - 1)) + 1;
+        if ((next >>> PAGE_BITS) == edges.length) {
+            int[][] grown = Arrays.copyOf(edges, edges.length + 1);
+            grown[grown.length - 1] = new int[PAGE];
+            edges = grown;
+        }
+
+        int to = next;
+        int[] page = edges[to >>> PAGE_BITS];
+        int at = to & (PAGE - 1);
+
+        for (int i=0; i<count; ++i) {
+            int edge = from + i;
+            page[at + (i < rank ? i : i + 1)] = edges[edge >>> PAGE_BITS][edge & (PAGE - 1)];
+        }
+        page[at + rank] = child;
+        next += count + 1;
+
+        set(node, ((long) to << Integer.SIZE) | (state & (MASK_BITS | WORD_BIT)) | bit);
+    }
+}
@@ -0,0 +1,244 @@
+package old;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * === Directed Acyclic Word Graph ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  An immutable and minimal form of a {@link Trie}, made with
+ * {@link Trie#freeze()}. Any two nodes that would lead to the
+ * same set of endings (i.e. "-ING", "-TION", "-ERS") are stored
+ * once and shared, which for a dictionary of words takes far
+ * fewer nodes than the Trie does.
+ * </p><p>
+ *  The nodes are stored in flat arrays, each node being its
+ * child mask (with {@link #WORD_BIT} set if it ends a word) and
+ * an offset to where its children start in the targets, one
+ * per bit set in the mask in alphabetical order.
+ * </p><p>
+ *  The arrays can be saved with {@link #write(Path)} and opened
+ * again without being rebuilt through {@link MappedDawg#open(Path)},
+ * or copied off the heap with {@link #offHeap()}.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class Dawg extends WordGraph {
+
+    /** Set in the mask of a node that ends a word, above the 26 child bits **/
+    static final int WORD_BIT = 1 << 26;
+
+    /** The first int of a saved graph, "DAWG" in ASCII **/
+    static final int MAGIC = 0x44415747;
+    /** The version of the saved format **/
+    static final int VERSION = 1;
+    /** The number of ints before the arrays in a saved graph: magic, version, nodes, targets and root **/
+    static final int HEADER = 5;
+
+    /** The child mask of each node, with {@link #WORD_BIT} if it ends a word **/
+    private final int[] masks;
+    /** Where the children of each node start in {@link #targets} **/
+    private final int[] edges;
+    /** The children of all the nodes **/
+    private final int[] targets;
+    /** The node all words start from **/
+    private final int root;
+
+    /**
+     *  Wraps the arrays of an already minimized graph.
+     * @param masks   see {@link #masks}
+     * @param edges   see {@link #edges}
+     * @param targets see {@link #targets}
+     * @param root    see {@link #root}
+     */
+    Dawg(int[] masks, int[] edges, int[] targets, int root) {
+        this.masks = masks;
+        this.edges = edges;
+        this.targets = targets;
+        this.root = root;
+    }
+
+    @Override
+    int root() {
+        return (root);
+    }
+
+    @Override
+    int mask(int node) {
+        return (masks[node] & ~WORD_BIT);
+    }
+
+    @Override
+    boolean word(int node) {
+        return ((masks[node] & WORD_BIT) != 0);
+    }
+
+    @Override
+    int child(int node, int letter) {
+        int mask = masks[node];
+        int bit = 1 << letter;
+        return ((mask & bit) == 0 ? NONE : targets[edges[node] + Integer.bitCount(mask & (bit - 1))]);
+    }
+
+    @Override
+    public int size() {
+        return (masks.length);
+    }
+
+    /**
+     *  Saves the graph in its binary form. The file is the header
+     * ({@link #MAGIC}, {@link #VERSION}, the number of nodes, the number
+     * of targets and the root) then the masks, edges and targets, all as
+     * big-endian ints.
+     * @throws RuntimeException when the file could not be written
+     * @param file the file to write to, replaced if it exists
+     */
+    public void write(Path file) {
+        ByteBuffer buffer = put(ByteBuffer.allocate(bytes()));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("DAWG FAILED - could not write " + file, e);
+        }
+    }
+
+    /**
+     *  Copies the graph out of the heap, into memory the garbage collector
+     * does not look through. The copy holds the same bytes as {@link #write(Path)}
+     * and is searched the same as a mapped file, it is freed once closed.
+     * @return the graph in off-heap memory
+     */
+    public MappedDawg offHeap() {
+        return (new MappedDawg(put(ByteBuffer.allocateDirect(bytes()))));
+    }
+
+    /**
+     * @return the number of bytes of the binary form of the graph
+     */
+    private int bytes() {
+        return (Integer.BYTES * (HEADER + 2 * masks.length + targets.length));
+    }
+
+    /**
+     *  Writes the binary form of the graph, see {@link #write(Path)}.
+     * @param buffer the buffer to write to, at least {@link #bytes()} long
+     * @return the buffer, rewound to the start of the graph
+     */
+    private ByteBuffer put(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(masks.length).putInt(targets.length).putInt(root);
+        buffer.asIntBuffer().put(masks).put(edges).put(targets);
+        buffer.rewind();
+        return (buffer);
+    }
+
+    /**
+     *  Builds the graph from the bottom up, every node must be given
+     * after all of its children. Nodes equal to one already given are
+     * not stored again, the earlier node is given back instead.
+     */
+    static final class Builder {
+
+        /** The nodes given so far, by their contents **/
+        private final Map<Signature, Integer> interned = new HashMap<>();
+
+        /** See {@link Dawg#masks} **/
+        private int[] masks = new int[1024];
+        /** See {@link Dawg#edges} **/
+        private int[] edges = new int[1024];
+        /** See {@link Dawg#targets} **/
+        private int[] targets = new int[1024];
+
+        /** The number of nodes stored **/
+        private int nodes = 0;
+        /** The number of children stored **/
+        private int size = 0;
+
+        /**
+         *  Gives the node with the given contents, storing it if it is new.
+         * @param word     if the node ends a word
+         * @param mask     the children of the node, bit i for 'A' + i
+         * @param children the nodes of the children, in alphabetical order
+         * @return the node with the given contents
+         */
+        int node(boolean word, int mask, int[] children) {
+            int header = (word ? mask | WORD_BIT : mask);
+            Signature signature = new Signature(header, children);
+            Integer found = interned.get(signature);
+
+            if (found != null)
+                return (found);
+
+            if (nodes == masks.length) {
+                masks = Arrays.copyOf(masks, nodes * 2);
+                edges = Arrays.copyOf(edges, nodes * 2);
+            }
+            while (size + children.length > targets.length) {
+                targets = Arrays.copyOf(targets, targets.length * 2);
+            }
+
+            masks[nodes] = header;
+            edges[nodes] = size;
+            System.arraycopy(children, 0, targets, size, children.length);
+            size += children.length;
+
+            interned.put(signature, nodes);
+            return (nodes++);
+        }
+
+        /**
+         * @param root the node all words start from
+         * @return the graph of the nodes given
+         */
+        Dawg build(int root) {
+            return (new Dawg(Arrays.copyOf(masks, nodes), Arrays.copyOf(edges, nodes), Arrays.copyOf(targets, size), root));
+        }
+    }
+
+    /**
+     *  The contents of a node, two nodes with the same signature
+     * lead to the same endings.
+     */
+    static final class Signature {
+
+        /** The mask of the node **/
+        private final int header;
+        /** The children of the node **/
+        private final int[] children;
+        /** Cached as every signature is looked up **/
+        private final int hash;
+
+        /**
+         * @param header   the mask of the node
+         * @param children the children of the node
+         */
+        Signature(int header, int[] children) {
+            this.header = header;
+            this.children = children;
+            this.hash = 31 * header + Arrays.hashCode(children);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Signature))
+                return (false);
+            Signature other = (Signature) o;
+            return (header == other.header && Arrays.equals(children, other.children));
+        }
+
+        @Override
+        public int hashCode() {
+            return (hash);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package old;
+
+import java.util.*;
+
+import static old.Trie.*;
+
+/**
+ * <p>
+ * === GADDAG ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A word graph that can grow words in both directions from any
+ * letter in them, the companion of a {@link Trie} for finding the
+ * words that fit on a row of a board. Each word is stored once for
+ * every letter of it: the letters before it read backwards, then the
+ * letter itself, then {@link #SEPARATOR}, then the letters after it.
+ * (i.e. with the separator as '>', "CAT" as "C>AT", "AC>T" and "TAC>")
+ * </p><p>
+ *  A search can then start at a letter already on the board and
+ * grow the word left from it, then cross the separator and grow it
+ * right, rather than trying every position left of the letter as a
+ * place the word might start. The graph is minimized the same as a
+ * {@link Dawg} while it is built, shared endings are stored once.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class Gaddag {
+
+    /** Between the reversed letters before the start and the letters after it **/
+    static final char SEPARATOR = (char) ('A' + ALPHABET);
+    /** The symbols a node can branch on, the letters and {@link #SEPARATOR} **/
+    private static final int SYMBOLS = ALPHABET + 1;
+    /** Set in the mask of a node that ends a word, above the 27 child bits **/
+    private static final int WORD_BIT = 1 << SYMBOLS;
+
+    /** Value given by {@link #child(int, int)} when no such child exists **/
+    private static final int NONE = -1;
+
+    /** The child mask of each node, with {@link #WORD_BIT} if it ends a word **/
+    private final int[] masks;
+    /** Where the children of each node start in {@link #targets} **/
+    private final int[] edges;
+    /** The children of all the nodes **/
+    private final int[] targets;
+    /** The node all words start from **/
+    private final int root;
+
+    /**
+     *  Builds the graph of the given words.
+     * @param words the words, upper case letters only
+     */
+    public Gaddag(Collection<String> words) {
+        /** Every word from every letter in it, sorted so the graph is built in order **/
+        List<String> paths = new ArrayList<>();
+        for (String word : words) {
+            for (int i=1; i<=word.length(); ++i)
+                paths.add(new StringBuilder(word.substring(0, i)).reverse().append(SEPARATOR).append(word, i, word.length()).toString());
+        }
+        Collections.sort(paths);
+
+        Builder builder = new Builder();
+        String last = "";
+        for (String path : paths) {
+            if (!path.equals(last))
+                builder.add(last, path);
+            last = path;
+        }
+
+        int root = builder.finish();
+        this.masks = Arrays.copyOf(builder.masks, builder.nodes);
+        this.edges = Arrays.copyOf(builder.edges, builder.nodes);
+        this.targets = Arrays.copyOf(builder.targets, builder.size);
+        this.root = root;
+    }
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    public int size() {
+        return (masks.length);
+    }
+
+    /**
+     *  See if the specified word is contained in the graph.
+     * @param word the word to check
+     * @return if the word is contained in the graph
+     */
+    public boolean contains(String word) {
+        word = word.toUpperCase();
+
+        int get = root;
+        for (int i=word.length() - 1; i>=0 && get != NONE; --i)
+            get = child(get, word.charAt(i) - 'A');
+
+        get = (get == NONE || word.isEmpty()) ? NONE : child(get, ALPHABET);
+        return (get != NONE && (masks[get] & WORD_BIT) != 0);
+    }
+
+    /**
+     *  Finds words that fit the search string that can be built with the
+     * given characters. No limit on how many of those characters are used.
+     * @param search the search match string
+     * @param chars  the characters to use
+     * @return all results of the matching
+     */
+    public List<SearchResult> findWords(String search, char[] chars) {
+        return (findWords(search, NO_LIMIT, new CharacterCounter(chars)));
+    }
+
+    /**
+     *  Finds words that fit the search string that can be built with the
+     * given characters, giving the same results as the Trie.
+     * Every word found has to go through the first letter of the search
+     * string, the anchor, as words start no later than the first square
+     * that is not a {@link Trie#NULLABLE_WILD_CARD}. The search starts
+     * there, grows each word left over the squares before it until the
+     * word can start, then grows it right to the end of the word.
+     * @see Trie#findWords(String, int, CharacterCounter)
+     * @param search the search match string
+     * @param limit  the max number of characters to use from the given characters
+     * @param chars  the characters to use
+     * @return all results of the matching
+     */
+    public List<SearchResult> findWords(String search, int limit, CharacterCounter chars) {
+        if (chars == null || chars.remaining() == 0) {
+            return (new ArrayList<>());
+        }
+
+        search = search.toUpperCase();
+
+        for (int i = 0; i < search.length(); ++i) {
+            char c = search.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD || c == NULLABLE_WILD_CARD))
+                return (null);
+        }
+
+        for (Character c : chars) {
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        Queue<SearchResult> words = new PriorityQueueTreeSet<>(SearchResult::compareByRank, SearchResult::compareByWord);
+
+        /** The last square a word can start on and the anchor **/
+        int first = -1;
+        int anchor = -1;
+        for (int i=0; i<search.length() && anchor < 0; ++i) {
+            char c = search.charAt(i);
+            if (first < 0 && c != NULLABLE_WILD_CARD)
+                first = i;
+            if (isUpperAlpha(c))
+                anchor = i;
+        }
+
+        if (anchor >= 0) {
+            char c = search.charAt(anchor);
+            char[] row = search.toCharArray();
+            int n = child(root, c - 'A');
+
+            if (n != NONE)
+                left(new Move(search, row, anchor, first, rack(chars), limit, words), n, anchor - 1, 0, charScore(c));
+        }
+
+        List<SearchResult> ret = new ArrayList<>();
+        while (!words.isEmpty()) {
+            ret.add(words.poll());
+        }
+        return (ret);
+    }
+
+    /**
+     *  Grows a word left from the anchor, one square at a time.
+     * @param m     the search being run
+     * @param n     the current node, past the letters placed so far
+     * @param pos   the square to the left of the letters placed so far
+     * @param used  the number of characters used so far
+     * @param score the score of the letters placed so far
+     */
+    private void left(Move m, int n, int pos, int used, int score) {
+        /** The word can start on the square after this one **/
+        if (pos + 1 <= m.first) {
+            int separator = child(n, ALPHABET);
+            if (separator != NONE)
+                right(m, separator, m.anchor + 1, pos + 1, used, score);
+        }
+
+        if (pos >= 0)
+            place(m, n, pos, 0, used, score);
+    }
+
+    /**
+     *  Grows a word right past the anchor, one square at a time.
+     * @param m     the search being run
+     * @param n     the current node, past the letters placed so far
+     * @param pos   the square to the right of the letters placed so far
+     * @param start the square the word starts on
+     * @param used  the number of characters used so far
+     * @param score the score of the letters placed so far
+     */
+    private void right(Move m, int n, int pos, int start, int used, int score) {
+        int length = m.search.length();
+
+        /** The word can end before an empty square or the end of the row **/
+        if ((masks[n] & WORD_BIT) != 0 && (pos == length || m.search.charAt(pos) == NULLABLE_WILD_CARD))
+            m.words.add(new SearchResult(new String(m.row, start, pos - start), score, start));
+
+        if (pos == length)
+            return;
+
+        char c = m.search.charAt(pos);
+        if (isUpperAlpha(c)) {
+            int child = child(n, c - 'A');
+            if (child != NONE)
+                right(m, child, pos + 1, start, used, score + charScore(c));
+        } else {
+            place(m, n, pos, start, used, score);
+        }
+    }
+
+    /**
+     *  Places each character that can be used on an empty square, then
+     * goes on growing the word the same way.
+     * @param m     the search being run
+     * @param n     the current node
+     * @param pos   the empty square
+     * @param start the square the word starts on when growing right, unused
+     *              when growing left (i.e. the square is before the anchor)
+     * @param used  the number of characters used so far
+     * @param score the score of the letters placed so far
+     */
+    private void place(Move m, int n, int pos, int start, int used, int score) {
+        if (used == m.limit)
+            return;
+
+        int[] rack = m.rack;
+        int mask = masks[n] & ((1 << ALPHABET) - 1);
+
+        for (int s = mask; s != 0; s &= s - 1) {
+            int letter = Integer.numberOfTrailingZeros(s);
+            if (rack[letter] > 0) {
+                --rack[letter];
+                grow(m, n, letter, pos, start, used, score);
+                ++rack[letter];
+            }
+        }
+
+        if (rack[ALPHABET] > 0) {
+            --rack[ALPHABET];
+            for (int s = mask; s != 0; s &= s - 1)
+                grow(m, n, Integer.numberOfTrailingZeros(s), pos, start, used, score);
+            ++rack[ALPHABET];
+        }
+    }
+
+    /**
+     *  Puts a letter on an empty square and goes on from its child.
+     * @see #place(Move, int, int, int, int, int)
+     */
+    private void grow(Move m, int n, int letter, int pos, int start, int used, int score) {
+        char c = (char) ('A' + letter);
+        m.row[pos] = c;
+
+        if (pos < m.anchor)
+            left(m, child(n, letter), pos - 1, used + 1, score + charScore(c));
+        else
+            right(m, child(n, letter), pos + 1, start, used + 1, score + charScore(c));
+    }
+
+    /**
+     *  Gets the child of a node.
+     * @param node   the node to get the child of
+     * @param symbol the symbol of the child, 0 for 'A' to 25 for 'Z' and 26 for {@link #SEPARATOR}
+     * @return the child node or {@link #NONE} if it does not exist
+     */
+    private int child(int node, int symbol) {
+        int mask = masks[node];
+        int bit = 1 << symbol;
+        return ((mask & bit) == 0 ? NONE : targets[edges[node] + Integer.bitCount(mask & (bit - 1))]);
+    }
+
+    /**
+     *  The state of one run of {@link #findWords(String, int, CharacterCounter)}.
+     */
+    private static final class Move {
+
+        /** The search string **/
+        private final String search;
+        /** The search string with the letters placed so far **/
+        private final char[] row;
+        /** The first letter of the search string, all words go through it **/
+        private final int anchor;
+        /** The last square a word can start on **/
+        private final int first;
+        /** The count of each character that can be used, see {@link Trie#rack(CharacterCounter)} **/
+        private final int[] rack;
+        /** The max number of characters that can be used **/
+        private final int limit;
+        /** The words that have been found so far **/
+        private final Queue<SearchResult> words;
+
+        /**
+         * @param search see {@link #search}
+         * @param row    see {@link #row}
+         * @param anchor see {@link #anchor}
+         * @param first  see {@link #first}
+         * @param rack   see {@link #rack}
+         * @param limit  see {@link #limit}
+         * @param words  see {@link #words}
+         */
+        private Move(String search, char[] row, int anchor, int first, int[] rack, int limit, Queue<SearchResult> words) {
+            this.search = search;
+            this.row = row;
+            this.anchor = anchor;
+            this.first = first;
+            this.rack = rack;
+            this.limit = limit;
+            this.words = words;
+        }
+    }
+
+    /**
+     *  Builds the graph from paths given in sorted order, a node is
+     * stored once all of the paths through it have been given, when
+     * it can no longer change. Nodes equal to one already stored are
+     * not stored again, as with {@link Dawg.Builder}.
+     */
+    private static final class Builder {
+
+        /** The nodes stored so far, by their contents **/
+        private final Map<Dawg.Signature, Integer> interned = new HashMap<>();
+
+        /** See {@link Gaddag#masks} **/
+        private int[] masks = new int[1024];
+        /** See {@link Gaddag#edges} **/
+        private int[] edges = new int[1024];
+        /** See {@link Gaddag#targets} **/
+        private int[] targets = new int[1024];
+        /** The number of nodes stored **/
+        private int nodes = 0;
+        /** The number of children stored **/
+        private int size = 0;
+
+        /** The nodes of the last path that are not stored yet, the root first **/
+        private final List<Pending> path = new ArrayList<>(Collections.singletonList(new Pending()));
+
+        /**
+         *  Adds the next path, the nodes of the last path past where the
+         * two share a beginning are stored as nothing more can be added
+         * below them.
+         * @param last the last path given
+         * @param next the path to add, after the last in sorted order
+         */
+        private void add(String last, String next) {
+            int shared = 0;
+            while (shared < last.length() && shared < next.length() && last.charAt(shared) == next.charAt(shared))
+                ++shared;
+
+            store(shared);
+
+            for (int i=shared; i<next.length(); ++i) {
+                Pending node = new Pending();
+                node.symbol = next.charAt(i) - 'A';
+                path.add(node);
+            }
+            path.get(path.size() - 1).word = true;
+        }
+
+        /**
+         *  Stores the rest of the nodes.
+         * @return the root
+         */
+        private int finish() {
+            store(0);
+            return (store(path.get(0)));
+        }
+
+        /**
+         *  Stores the nodes of the path deeper than the given depth, each
+         * becoming a child of the node above it.
+         * @param depth the depth of the last node to keep pending
+         */
+        private void store(int depth) {
+            while (path.size() - 1 > depth) {
+                Pending node = path.remove(path.size() - 1);
+                Pending parent = path.get(path.size() - 1);
+                parent.mask |= 1 << node.symbol;
+                parent.children[parent.count++] = store(node);
+            }
+        }
+
+        /**
+         *  Stores a node, or gives back the equal one already stored.
+         * @param node the node, with all of its children stored
+         * @return the stored node
+         */
+        private int store(Pending node) {
+            int[] children = Arrays.copyOf(node.children, node.count);
+            Dawg.Signature signature = new Dawg.Signature(node.word ? node.mask | WORD_BIT : node.mask, children);
+            Integer found = interned.get(signature);
+
+            if (found != null)
+                return (found);
+
+            if (nodes == masks.length) {
+                masks = Arrays.copyOf(masks, nodes * 2);
+                edges = Arrays.copyOf(edges, nodes * 2);
+            }
+            while (size + children.length > targets.length) {
+                targets = Arrays.copyOf(targets, targets.length * 2);
+            }
+
+            masks[nodes] = node.word ? node.mask | WORD_BIT : node.mask;
+            edges[nodes] = size;
+            System.arraycopy(children, 0, targets, size, children.length);
+            size += children.length;
+
+            interned.put(signature, nodes);
+            return (nodes++);
+        }
+    }
+
+    /**
+     *  A node of the path being built, not yet stored.
+     */
+    private static final class Pending {
+
+        /** The symbol leading to the node **/
+        private int symbol;
+        /** If the node ends a word **/
+        private boolean word;
+        /** The symbols of the children stored so far **/
+        private int mask;
+        /** The children stored so far, in order **/
+        private final int[] children = new int[SYMBOLS];
+        /** The number of children stored so far **/
+        private int count;
+    }
+}
@@ -0,0 +1,315 @@
+package old;
+
+import java.util.*;
+
+/**
+ * <p>
+ * === Indexed Heap ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A priority queue that holds each element once. The elements are
+ * kept a single time, in a binary heap in an array, and a hash map
+ * gives the entry of each element in the heap, which knows its slot.
+ * Seeing if an element is held is a hash lookup, and any element can
+ * be taken out from where it is in the heap rather than searched for.
+ * Moving an element in the heap only changes its entry, the map is
+ * only touched to add, find or take out an element.
+ * </p><p>
+ *  Elements are the same if they are equal, by {@link Object#equals(Object)}
+ * and {@link Object#hashCode()}, offering one equal to an element
+ * already held gives false and leaves the queue as it was. Null
+ * elements are not allowed.
+ * </p><p>
+ *  The place of an element held can be changed with {@link #update(Object)},
+ * for when its priority changes while it is in the queue, i.e. the open
+ * set of a best first search.
+ * </p>
+ * @param <E> if the type is not {@link Comparable} then use the
+ * {@link IndexedHeap#IndexedHeap(Comparator)} constructor
+ */@SuppressWarnings("unused")
+public final class IndexedHeap<E> extends AbstractQueue<E> {
+
+    /** The ordering of the elements, null for their natural ordering **/
+    private final Comparator<? super E> comparator;
+    /** The entry in {@link #heap} of each element **/
+    private final Map<E, Entry<E>> slots;
+
+    /** The entries of the elements, the children of slot i at 2i + 1 and 2i + 2, the first at slot 0 **/
+    private Entry<?>[] heap = new Entry<?>[16];
+    /** The number of elements **/
+    private int size = 0;
+    /** Changed by every change to the elements, so iterators can notice **/
+    private int changes = 0;
+
+    /**
+     *  Initializes the heap, uses the type compare method.
+     */
+    public IndexedHeap() {
+        this(null);
+    }
+
+    /**
+     *  Initializes the heap, uses the given comparator for ordering.
+     * @param comparator the ordering, null for the type compare method
+     */
+    public IndexedHeap(Comparator<? super E> comparator) {
+        this(comparator, new HashMap<>());
+    }
+
+    /**
+     *  Initializes the heap with the given index, which decides which
+     * elements are the same, i.e. a {@link TreeMap} to use an ordering
+     * rather than {@link Object#equals(Object)}.
+     * @param comparator the ordering, null for the type compare method
+     * @param slots      the empty map to keep the entry of each element in
+     */
+    IndexedHeap(Comparator<? super E> comparator, Map<E, Entry<E>> slots) {
+        this.comparator = comparator;
+        this.slots = slots;
+    }
+
+    /**
+     * @return the ordering of the elements, null if they use their natural ordering
+     */
+    public Comparator<? super E> comparator() {
+        return (comparator);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Unlike other queues, elements already held give false instead of throwing.
+     * </p>
+     */
+    @Override
+    public boolean add(E e) {
+        return (offer(e));
+    }
+
+    /**
+     * @throws NullPointerException if the element is null
+     * @param e the element to add
+     * @return true if added, false if an equal element is already held
+     */
+    @Override
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+
+        /** A single lookup both checks for and adds the element **/
+        Entry<E> entry = new Entry<>(e);
+        if (slots.putIfAbsent(e, entry) != null)
+            return (false);
+
+        if (size == heap.length)
+            heap = Arrays.copyOf(heap, size * 2);
+
+        ++changes;
+        up(size++, entry);
+        return (true);
+    }
+
+    @Override
+    public E peek() {
+        return ((size == 0) ? null : entry(0).element);
+    }
+
+    @Override
+    public E poll() {
+        if (size == 0)
+            return (null);
+
+        E first = entry(0).element;
+        removeAt(0);
+        return (first);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return (o != null && slots.containsKey(o));
+    }
+
+    /**
+     *  Removes an element from wherever it is in the heap.
+     * @param o the element to remove
+     * @return true if the element was held
+     */
+    @Override
+    public boolean remove(Object o) {
+        Entry<E> entry = (o == null) ? null : slots.get(o);
+        if (entry == null)
+            return (false);
+
+        removeAt(entry.slot);
+        return (true);
+    }
+
+    /**
+     *  Replaces an element held with the given equal one and moves it up
+     * or down to where it now belongs, for when its priority has changed.
+     * The element given may be the one held, changed in place, as long as
+     * it is still equal to what it was.
+     * @param e the element with its new priority
+     * @return true if an equal element was held and replaced, false if not
+     * held, in which case nothing is added
+     */
+    public boolean update(E e) {
+        Entry<E> entry = (e == null) ? null : slots.get(e);
+        if (entry == null)
+            return (false);
+
+        ++changes;
+        entry.element = e;
+        up(entry.slot, entry);
+        down(entry.slot, entry);
+        return (true);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        slots.clear();
+        size = 0;
+        ++changes;
+    }
+
+    @Override
+    public int size() {
+        return (size);
+    }
+
+    /**
+     *  Goes over the elements in no set order. Elements cannot be removed
+     * through the iterator.
+     * @throws ConcurrentModificationException from the iterator if the heap
+     * is changed while going over it
+     * @return an iterator over the elements
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return (new Iterator<E>() {
+            /** The next slot to give **/
+            private int next = 0;
+            /** The changes when made **/
+            private final int expected = changes;
+
+            @Override
+            public boolean hasNext() {
+                return (next < size);
+            }
+
+            @Override
+            public E next() {
+                if (expected != changes)
+                    throw new ConcurrentModificationException();
+                if (next >= size)
+                    throw new NoSuchElementException();
+                return (entry(next++).element);
+            }
+        });
+    }
+
+    /**
+     *  Takes out the element at a slot, the last element is moved into
+     * the slot and then up or down to where it belongs.
+     * @param slot the slot of the element to take out
+     */
+    private void removeAt(int slot) {
+        ++changes;
+        slots.remove(entry(slot).element);
+
+        int last = --size;
+        Entry<E> moved = entry(last);
+        heap[last] = null;
+
+        if (slot != last) {
+            down(slot, moved);
+            up(moved.slot, moved);
+        }
+    }
+
+    /**
+     *  Moves an element up from a slot until its parent is not after it.
+     * @param slot the slot to start from, its entry is overwritten
+     * @param e    the entry to place
+     */
+    private void up(int slot, Entry<E> e) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            Entry<E> above = entry(parent);
+            if (compare(e.element, above.element) >= 0)
+                break;
+            place(slot, above);
+            slot = parent;
+        }
+        place(slot, e);
+    }
+
+    /**
+     *  Moves an element down from a slot until neither child is before it.
+     * @param slot the slot to start from, its entry is overwritten
+     * @param e    the entry to place
+     */
+    private void down(int slot, Entry<E> e) {
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            Entry<E> below = entry(child);
+            if (child + 1 < size && compare(entry(child + 1).element, below.element) < 0)
+                below = entry(++child);
+            if (compare(e.element, below.element) <= 0)
+                break;
+            place(slot, below);
+            slot = child;
+        }
+        place(slot, e);
+    }
+
+    /**
+     * @param slot the slot to put the entry in
+     * @param e    the entry
+     */
+    private void place(int slot, Entry<E> e) {
+        heap[slot] = e;
+        e.slot = slot;
+    }
+
+    /**
+     * @param slot the slot of the entry
+     * @return the entry in the slot
+     */
+    @SuppressWarnings("unchecked")
+    private Entry<E> entry(int slot) {
+        return ((Entry<E>) heap[slot]);
+    }
+
+    /**
+     * @param a the first element to compare
+     * @param b the second element to compare
+     * @return negative if a comes before b, zero if the same, positive if after
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        return ((comparator == null) ? ((Comparable<? super E>) a).compareTo(b) : comparator.compare(a, b));
+    }
+
+    /**
+     *  An element and where it is in the heap.
+     * @param <E> the type of element
+     */
+    static final class Entry<E> {
+
+        /** The element **/
+        private E element;
+        /** The slot of the element in {@link #heap} **/
+        private int slot;
+
+        /**
+         * @param element see {@link #element}
+         */
+        private Entry(E element) {
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package old;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * === Int Priority Queue ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A {@link PriorityQueueTreeSet} for plain ints, i.e. the ids of words
+ * ordered by their scores. Each value is queued with an int key and is
+ * held once, offering a value already held gives false. The keys and
+ * values are kept in two int arrays as a binary heap, and the values
+ * held in an open addressing hash set of ints, so nothing is boxed and
+ * no comparator is called.
+ * </p><p>
+ *  The lowest key is first, or the highest if made max first. Values
+ * with the same key come out lowest value first.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class IntPriorityQueue {
+
+    /** If the highest key is first **/
+    private final boolean max_first;
+
+    /** The key of each value in the heap, the children of i at 2i + 1 and 2i + 2 **/
+    private int[] keys;
+    /** The values in the heap, alongside their keys **/
+    private int[] values;
+    /** The number of values queued **/
+    private int size = 0;
+
+    /** The values held, by their hash, a power of two long **/
+    private int[] table;
+    /** Which slots of {@link #table} are taken **/
+    private boolean[] taken;
+
+    /**
+     *  Initializes the queue, lowest key first.
+     */
+    public IntPriorityQueue() {
+        this(false);
+    }
+
+    /**
+     *  Initializes the queue.
+     * @param max_first if the highest key comes first rather than the lowest
+     */
+    public IntPriorityQueue(boolean max_first) {
+        this.max_first = max_first;
+        this.keys = new int[16];
+        this.values = new int[16];
+        this.table = new int[32];
+        this.taken = new boolean[32];
+    }
+
+    /**
+     *  Queues a value.
+     * @param value the value to queue
+     * @param key   the priority of the value
+     * @return true if added, false if the value is already held
+     */
+    public boolean offer(int value, int key) {
+        if (!hold(value))
+            return (false);
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        up(size++, value, key);
+        return (true);
+    }
+
+    /**
+     * @throws NoSuchElementException if the queue is empty
+     * @return the first value, left in the queue
+     */
+    public int peek() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return (values[0]);
+    }
+
+    /**
+     * @throws NoSuchElementException if the queue is empty
+     * @return the key of the first value
+     */
+    public int peekKey() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return (keys[0]);
+    }
+
+    /**
+     *  Takes out the first value, after which it can be queued again.
+     * @throws NoSuchElementException if the queue is empty
+     * @return the first value
+     */
+    public int poll() {
+        if (size == 0)
+            throw new NoSuchElementException();
+
+        int first = values[0];
+        release(first);
+
+        int last = --size;
+        if (last > 0)
+            down(0, values[last], keys[last]);
+        return (first);
+    }
+
+    /**
+     * @param value the value to look for
+     * @return if the value is queued
+     */
+    public boolean contains(int value) {
+        for (int i = slot(value); taken[i]; i = (i + 1) & (table.length - 1)) {
+            if (table[i] == value)
+                return (true);
+        }
+        return (false);
+    }
+
+    /**
+     * @return the number of values queued
+     */
+    public int size() {
+        return (size);
+    }
+
+    /**
+     * @return if no values are queued
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+     *  Takes out every value.
+     */
+    public void clear() {
+        Arrays.fill(taken, false);
+        size = 0;
+    }
+
+    /**
+     *  Takes out every value, in order.
+     * @return the values, first to last
+     */
+    public int[] drain() {
+        int[] ret = new int[size];
+        for (int i=0; i<ret.length; ++i)
+            ret[i] = poll();
+        return (ret);
+    }
+
+    /**
+     * @param key_a the key of the first value
+     * @param a     the first value
+     * @param key_b the key of the second value
+     * @param b     the second value
+     * @return if the first value comes before the second
+     */
+    private boolean before(int key_a, int a, int key_b, int b) {
+        if (key_a != key_b)
+            return (max_first ? key_a > key_b : key_a < key_b);
+        return (a < b);
+    }
+
+    /**
+     *  Moves a value up from a slot until its parent is before it.
+     * @param i     the slot to start from, overwritten
+     * @param value the value to place
+     * @param key   the key of the value
+     */
+    private void up(int i, int value, int key) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(key, value, keys[parent], values[parent]))
+                break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     *  Moves a value down from a slot until neither child is before it.
+     * @param i     the slot to start from, overwritten
+     * @param value the value to place
+     * @param key   the key of the value
+     */
+    private void down(int i, int value, int key) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(keys[child + 1], values[child + 1], keys[child], values[child]))
+                ++child;
+            if (!before(keys[child], values[child], key, value))
+                break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * @param value the value
+     * @return the slot of the table the value is first looked for in
+     */
+    private int slot(int value) {
+        return ((value * 0x9E3779B9) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(table.length)));
+    }
+
+    /**
+     *  Adds a value to the hash set, growing it to stay at most half full.
+     * @param value the value to add
+     * @return true if added, false if already held
+     */
+    private boolean hold(int value) {
+        int i = slot(value);
+        for (; taken[i]; i = (i + 1) & (table.length - 1)) {
+            if (table[i] == value)
+                return (false);
+        }
+
+        if (2 * (size + 1) > table.length) {
+            grow();
+            return (hold(value));
+        }
+
+        table[i] = value;
+        taken[i] = true;
+        return (true);
+    }
+
+    /**
+     *  Takes a value out of the hash set. The values after it in its run
+     * are moved back where they can be, so no slot is left marked as deleted.
+     * @param value the value, must be held
+     */
+    private void release(int value) {
+        int mask = table.length - 1;
+        int i = slot(value);
+        while (table[i] != value)
+            i = (i + 1) & mask;
+
+        for (int j = (i + 1) & mask; taken[j]; j = (j + 1) & mask) {
+            int home = slot(table[j]);
+            /** Moved back only if its home is not between the hole and it **/
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = table[j];
+                i = j;
+            }
+        }
+        taken[i] = false;
+    }
+
+    /**
+     *  Doubles the hash set, adding the values held again.
+     */
+    private void grow() {
+        int[] old_table = table;
+        boolean[] old_taken = taken;
+        table = new int[old_table.length * 2];
+        taken = new boolean[old_table.length * 2];
+
+        int mask = table.length - 1;
+        for (int k=0; k<old_table.length; ++k) {
+            if (old_taken[k]) {
+                int i = slot(old_table[k]);
+                while (taken[i])
+                    i = (i + 1) & mask;
+                table[i] = old_table[k];
+                taken[i] = true;
+            }
+        }
+    }
+}
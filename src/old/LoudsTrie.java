@@ -0,0 +1,221 @@
+package old;
+
+import java.util.Arrays;
+
+import static old.Trie.*;
+
+/**
+ * <p>
+ * === LOUDS Trie ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A read-only trie stored in a few bits per node, for dictionaries
+ * too large to keep as objects or arrays of ints. All of the searches
+ * of the {@link WordGraph} can be used, each step down the trie costs
+ * a select on the bits instead of an array lookup.
+ * </p><p>
+ *  The shape of the trie is written level by level (level-order unary
+ * degree sequence): each node, taken in breadth first order, gives a one
+ * for each of its children and then a zero, after a leading "10" for the
+ * root. Node i is the i-th one, so the children of a node are the ones
+ * after its zero and are numbered by where they fall, which takes two
+ * bits a node. The letter of each node is kept in five bits, in node
+ * order, and one more bit marks the nodes that end a word.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class LoudsTrie extends WordGraph {
+
+    /** The bits of a letter **/
+    private static final int LABEL_BITS = 5;
+    /** The letters kept in each long **/
+    private static final int LABELS = Long.SIZE / LABEL_BITS;
+    /** The bits of a letter, as a mask **/
+    private static final long LABEL_MASK = (1L << LABEL_BITS) - 1;
+
+    /** The node all words start from **/
+    private static final int ROOT = 0;
+
+    /** The shape, see above **/
+    private final RankSelect louds;
+    /** The letter of each node, {@link #LABELS} to a long, none for the root **/
+    private final long[] labels;
+    /** Bit i is set if node i ends a word **/
+    private final long[] ends;
+    /** The number of nodes **/
+    private final int nodes;
+    /** The number of words **/
+    private final int words;
+
+    /**
+     * @param louds  see {@link #louds}
+     * @param labels see {@link #labels}
+     * @param ends   see {@link #ends}
+     * @param nodes  see {@link #nodes}
+     */
+    LoudsTrie(RankSelect louds, long[] labels, long[] ends, int nodes) {
+        this.louds = louds;
+        this.labels = labels;
+        this.ends = ends;
+        this.nodes = nodes;
+
+        int words = 0;
+        for (long end : ends)
+            words += Long.bitCount(end);
+        this.words = words;
+    }
+
+    @Override
+    int root() {
+        return (ROOT);
+    }
+
+    @Override
+    int mask(int node) {
+        int start = louds.select0(node) + 1;
+        int end = louds.next0(start);
+        int first = start - node - 1;
+
+        int mask = 0;
+        for (int c = first; c < first + end - start; ++c)
+            mask |= 1 << label(c);
+        return (mask);
+    }
+
+    @Override
+    boolean word(int node) {
+        return (((ends[node >>> 6] >>> node) & 1L) != 0);
+    }
+
+    @Override
+    int child(int node, int letter) {
+        int start = louds.select0(node) + 1;
+        int end = louds.next0(start);
+        int first = start - node - 1;
+
+        /** The children are in alphabetical order **/
+        for (int c = first; c < first + end - start; ++c) {
+            int label = label(c);
+            if (label == letter)
+                return (c);
+            if (label > letter)
+                break;
+        }
+        return (NONE);
+    }
+
+    @Override
+    public int size() {
+        return (nodes);
+    }
+
+    @Override
+    public int words() {
+        return (words);
+    }
+
+    /**
+     * @return the number of bits used by the trie, about
+     * {@link #bitsPerNode()} for each node
+     */
+    public long bits() {
+        return (louds.space() + (long) Long.SIZE * (labels.length + ends.length));
+    }
+
+    /**
+     * @return the average bits used for each node, letters included
+     */
+    public double bitsPerNode() {
+        return (bits() / (double) nodes);
+    }
+
+    /**
+     * @param node the node, not the root
+     * @return the letter of the node, 0 for 'A' to 25 for 'Z'
+     */
+    private int label(int node) {
+        return ((int) ((labels[node / LABELS] >>> (LABEL_BITS * (node % LABELS))) & LABEL_MASK));
+    }
+
+    /**
+     *  Builds the trie from the top down, the nodes must be given in
+     * breadth first order with the children of each node in alphabetical
+     * order, starting from the root.
+     */
+    static final class Builder {
+
+        /** See {@link LoudsTrie#louds} **/
+        private long[] louds = new long[16];
+        /** See {@link LoudsTrie#labels} **/
+        private long[] labels = new long[16];
+        /** See {@link LoudsTrie#ends} **/
+        private long[] ends = new long[16];
+
+        /** The number of bits of the shape **/
+        private int length = 0;
+        /** The number of nodes given **/
+        private int nodes = 0;
+        /** The number of nodes given a letter, the root counts as one **/
+        private int labelled = 1;
+
+        /**
+         *  Starts the shape with the root.
+         */
+        Builder() {
+            bit(true);
+            bit(false);
+        }
+
+        /**
+         *  Gives the next node.
+         * @param word if the node ends a word
+         * @param mask the children of the node, bit i for 'A' + i
+         */
+        void node(boolean word, int mask) {
+            if ((nodes >>> 6) == ends.length)
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            if (word)
+                ends[nodes >>> 6] |= 1L << nodes;
+            ++nodes;
+
+            for (int m = mask; m != 0; m &= m - 1) {
+                bit(true);
+                label(Integer.numberOfTrailingZeros(m));
+            }
+            bit(false);
+        }
+
+        /**
+         * @param one if the next bit of the shape is a one
+         */
+        private void bit(boolean one) {
+            if ((length >>> 6) == louds.length)
+                louds = Arrays.copyOf(louds, louds.length * 2);
+            if (one)
+                louds[length >>> 6] |= 1L << length;
+            ++length;
+        }
+
+        /**
+         * @param letter the letter of the next child, 0 for 'A' to 25 for 'Z'
+         */
+        private void label(int letter) {
+            if (labelled / LABELS == labels.length)
+                labels = Arrays.copyOf(labels, labels.length * 2);
+            labels[labelled / LABELS] |= (long) letter << (LABEL_BITS * (labelled % LABELS));
+            ++labelled;
+        }
+
+        /**
+         * @throws RuntimeException if a child was given that never was given as a node
+         * @return the trie of the nodes given
+         */
+        LoudsTrie build() {
+            if (labelled != nodes)
+                throw new RuntimeException("LOUDS FAILED - " + labelled + " nodes named, " + nodes + " given");
+
+            RankSelect shape = new RankSelect(Arrays.copyOf(louds, (length + 63) >>> 6), length);
+            return (new LoudsTrie(shape, Arrays.copyOf(labels, (nodes + LABELS - 1) / LABELS), Arrays.copyOf(ends, (nodes + 63) >>> 6), nodes));
+        }
+    }
+}
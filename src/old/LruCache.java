@@ -0,0 +1,117 @@
+package old;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * === Least Recently Used Cache ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A cache holding up to a set number of values, once full the
+ * value that has gone the longest without being looked up is
+ * dropped to make room. Lookups are counted as hits or misses
+ * so the size can be tuned to how often queries repeat.
+ * </p><p>
+ *  All of the methods are synchronized, the searches of a
+ * {@link Trie} may be run from many threads at once.
+ * </p>
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */@SuppressWarnings("unused")
+public final class LruCache<K, V> {
+
+    /** The max number of values held **/
+    private final int capacity;
+    /** The values, in order from least to most recently used **/
+    private final Map<K, V> values;
+
+    /** The number of lookups that found a value **/
+    private long hits = 0;
+    /** The number of lookups that found nothing **/
+    private long misses = 0;
+
+    /**
+     *  Sets up an empty cache.
+     * @throws IllegalArgumentException if the capacity is not positive
+     * @param capacity the max number of values held
+     */
+    public LruCache(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+
+        this.capacity = capacity;
+        this.values = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return (size() > LruCache.this.capacity);
+            }
+        };
+    }
+
+    /**
+     *  Looks up a value, marking it as the most recently used.
+     * @param key the key of the value
+     * @return the value, null if it is not held
+     */
+    synchronized V get(K key) {
+        V value = values.get(key);
+
+        if (value == null)
+            ++misses;
+        else
+            ++hits;
+
+        return (value);
+    }
+
+    /**
+     *  Holds a value, dropping the least recently used if full.
+     * @param key   the key of the value
+     * @param value the value, not null
+     */
+    synchronized void put(K key, V value) {
+        values.put(key, value);
+    }
+
+    /**
+     *  Drops all of the values, the counts are kept.
+     */
+    public synchronized void clear() {
+        values.clear();
+    }
+
+    /**
+     * @return the max number of values held
+     */
+    public int capacity() {
+        return (capacity);
+    }
+
+    /**
+     * @return the number of values held
+     */
+    public synchronized int size() {
+        return (values.size());
+    }
+
+    /**
+     * @return the number of lookups that found a value
+     */
+    public synchronized long hits() {
+        return (hits);
+    }
+
+    /**
+     * @return the number of lookups that found nothing
+     */
+    public synchronized long misses() {
+        return (misses);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return ("LruCache[size=" + values.size() + ", capacity=" + capacity + ", hits=" + hits + ", misses=" + misses + "]");
+    }
+}
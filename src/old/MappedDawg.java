@@ -0,0 +1,182 @@
+package old;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static old.Dawg.*;
+
+/**
+ * <p>
+ * === Mapped Directed Acyclic Word Graph ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A {@link Dawg} saved with {@link Dawg#write(Path)}, read
+ * straight from the bytes of the file. The file is mapped into
+ * memory so opening it does not read or build anything, the
+ * pages are loaded by the operating system as the searches
+ * touch them and are shared by every process mapping the file.
+ * </p><p>
+ *  The graph can also be held in off-heap memory, see
+ * {@link Dawg#offHeap()}. Either way the nodes are never objects
+ * on the heap, so the garbage collector has nothing to mark however
+ * large the dictionary is.
+ * </p><p>
+ *  Once {@link #close()} is called any search throws an
+ * {@link IllegalStateException}, a search running at the time
+ * included. Closing does not free the memory right away: the graph
+ * only drops its buffers, and the file stays mapped, or the off-heap
+ * memory held, until the garbage collector collects them, which may
+ * be long after or never if nothing else needs the memory.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class MappedDawg extends WordGraph implements AutoCloseable {
+
+    /** The child mask of each node, see {@link Dawg}, null once closed **/
+    private volatile IntBuffer masks;
+    /** Where the children of each node start in {@link #targets}, null once closed **/
+    private volatile IntBuffer edges;
+    /** The children of all the nodes, null once closed **/
+    private volatile IntBuffer targets;
+    /** The node all words start from **/
+    private final int root;
+    /** The number of nodes **/
+    private final int nodes;
+
+    /**
+     *  Reads the graph from the bytes of a saved {@link Dawg}.
+     * @throws RuntimeException if the bytes are not a saved graph
+     * @param bytes the saved graph
+     */
+    MappedDawg(ByteBuffer bytes) {
+        IntBuffer ints = bytes.asIntBuffer();
+
+        if (ints.limit() < HEADER || ints.get(0) != MAGIC || ints.get(1) != VERSION)
+            throw new RuntimeException("DAWG FAILED - not a saved graph");
+
+        nodes = ints.get(2);
+        int size = ints.get(3);
+        root = ints.get(4);
+
+        if (ints.limit() != HEADER + 2 * nodes + size)
+            throw new RuntimeException("DAWG FAILED - saved graph is truncated");
+
+        masks = slice(ints, HEADER, nodes);
+        edges = slice(ints, HEADER + nodes, nodes);
+        targets = slice(ints, HEADER + 2 * nodes, size);
+    }
+
+    /**
+     *  Maps a graph saved with {@link Dawg#write(Path)}.
+     * @throws RuntimeException when the file cannot be read or is not a saved graph
+     * @param file the saved graph
+     * @return the graph backed by the file
+     */
+    public static MappedDawg open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return (new MappedDawg(bytes));
+        } catch (IOException e) {
+            throw new RuntimeException("DAWG FAILED - could not map " + file, e);
+        }
+    }
+
+    /**
+     * @param ints   the ints to take part of
+     * @param offset the first int of the part
+     * @param length the number of ints in the part
+     * @return the part of the ints, indexed from zero
+     */
+    private static IntBuffer slice(IntBuffer ints, int offset, int length) {
+        IntBuffer part = ints.duplicate();
+        part.position(offset);
+        part.limit(offset + length);
+        return (part.slice());
+    }
+
+    /**
+     *  Drops the buffers of the graph, searches can no longer be run.
+     * The memory is not freed here, see above. Closing more than once
+     * does nothing.
+     */
+    @Override
+    public void close() {
+        masks = null;
+        edges = null;
+        targets = null;
+    }
+
+    /**
+     * @return if {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return (masks == null);
+    }
+
+    /**
+     *  Each field is read once by the caller, so a graph closed part way
+     * through a call is seen as closed rather than as a null buffer.
+     * @throws IllegalStateException if the graph is closed
+     * @param ints one of the buffers of the graph
+     * @return the buffer
+     */
+    private static IntBuffer check(IntBuffer ints) {
+        if (ints == null)
+            throw new IllegalStateException("DAWG FAILED - graph is closed");
+        return (ints);
+    }
+
+    /**
+     * @throws IllegalStateException if the graph is closed
+     */
+    @Override
+    int root() {
+        check(masks);
+        return (root);
+    }
+
+    /**
+     * @throws IllegalStateException if the graph is closed
+     */
+    @Override
+    int mask(int node) {
+        return (check(masks).get(node) & ~WORD_BIT);
+    }
+
+    /**
+     * @throws IllegalStateException if the graph is closed
+     */
+    @Override
+    boolean word(int node) {
+        return ((check(masks).get(node) & WORD_BIT) != 0);
+    }
+
+    /**
+     * @throws IllegalStateException if the graph is closed
+     */
+    @Override
+    int child(int node, int letter) {
+        int mask = check(masks).get(node);
+        int bit = 1 << letter;
+        if ((mask & bit) == 0)
+            return (NONE);
+
+        IntBuffer edges = check(this.edges);
+        IntBuffer targets = check(this.targets);
+        return (targets.get(edges.get(node) + Integer.bitCount(mask & (bit - 1))));
+    }
+
+    /**
+     * @throws IllegalStateException if the graph is closed
+     */
+    @Override
+    public int size() {
+        check(masks);
+        return (nodes);
+    }
+}
@@ -13,7 +13,15 @@ import java.util.*;
  * way is this class well developed and was only made out of my need for quick look ups and sorted
  * order. Their maybe a better data structure to deal with my situation but I made this.
  * </p><p>
- * NOTE: This likely takes up double the space in memory but reduces the look up time by quite a lot.
+ * NOTE: This used to keep every element twice, in a PriorityQueue and in a TreeSet. The elements
+ * are now kept once, in an {@link IndexedHeap} whose index is the TreeMap of the set ordering, so
+ * removing any element or changing its priority with {@link #update(Object)} is O(log n).
+ * </p><p>
+ * Made with {@link #PriorityQueueTreeSet(int, Comparator, Comparator)} it only keeps the best
+ * elements, up to a capacity, for when only the best few of many are wanted. Once full an
+ * element that is not better than the worst kept is turned away by a single compare, and a
+ * better one takes the place of the worst. In this mode the worst is polled first, see
+ * {@link #best()} for the elements best first.
  * </p>
  * @param <E> if the type is not {@link Comparable} then use the
  * {@link PriorityQueueTreeSet#PriorityQueueTreeSet(Comparator)} or the
@@ -23,17 +31,22 @@ import java.util.*;
  */ @SuppressWarnings("unused")
 public final class PriorityQueueTreeSet<E> extends AbstractQueue<E> {
 
-    /** The queue of the data structure **/
-    private final Queue<E> queue;
-    /** The set of the data structure **/
-    private final Set<E> set;
+    /** Given as the capacity when there is no limit to the elements kept **/
+    private static final int UNBOUNDED = -1;
+
+    /** The elements, indexed by the set ordering, the worst on top if bounded **/
+    private final IndexedHeap<E> heap;
+    /** The queue ordering, best first **/
+    private final Comparator<E> order;
+    /** The max number of elements kept, {@link #UNBOUNDED} if no limit **/
+    private final int capacity;
 
     /**
      * Initializes the structure, uses the type compare method
      */
+    @SuppressWarnings("unchecked")
     public PriorityQueueTreeSet() {
-        this.queue = new PriorityQueue<>();
-        this.set = new TreeSet<>();
+        this((a, b) -> ((Comparable<E>) a).compareTo(b), null);
     }
 
     /**
@@ -51,39 +64,122 @@ public final class PriorityQueueTreeSet<E> extends AbstractQueue<E> {
      * @param set_comp   the set ordering
      */
     public PriorityQueueTreeSet(Comparator<E> queue_comp, Comparator<E> set_comp) {
-        queue = new PriorityQueue<>(queue_comp);
-        set = new TreeSet<>(set_comp);
+        this.heap = new IndexedHeap<>(queue_comp, new TreeMap<>(set_comp));
+        this.order = queue_comp;
+        this.capacity = UNBOUNDED;
     }
 
+    /**
+     *  Initializes the structure to keep only the best elements, by the
+     * queue ordering, up to the given capacity. The worst of them is on top.
+     * @throws IllegalArgumentException if the capacity is negative
+     * @param capacity   the max number of elements kept, 0 to keep none
+     * @param queue_comp the queue ordering, best first
+     * @param set_comp   the set ordering
+     */
+    public PriorityQueueTreeSet(int capacity, Comparator<E> queue_comp, Comparator<E> set_comp) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+
+        this.heap = new IndexedHeap<>(queue_comp.reversed(), new TreeMap<>(set_comp));
+        this.order = queue_comp;
+        this.capacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Unlike other queues, elements not kept give false instead of throwing.
+     * </p>
+     */
     @Override
     public boolean add(E item) {
-        return (set.add(item) && queue.add(item));
+        return (offer(item));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return (heap.contains(o));
     }
 
     @Override
     public Iterator<E> iterator() {
-        return (queue.iterator());
+        return (heap.iterator());
     }
 
     @Override
     public boolean offer(E e) {
-        return (queue.offer(e) && set.add(e));
+        if (capacity == UNBOUNDED)
+            return (heap.offer(e));
+
+        if (heap.size() == capacity) {
+            /** Not better than the worst kept, turned away without looking it up **/
+            if (capacity == 0 || order.compare(e, heap.peek()) >= 0 || heap.contains(e))
+                return (false);
+            heap.poll();
+        }
+        return (heap.offer(e));
     }
 
     @Override
     public E peek() {
-        return (queue.peek());
+        return (heap.peek());
     }
 
     @Override
     public E poll() {
-        E item = queue.poll();
-        set.remove(item);
-        return (item);
+        return (heap.poll());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return (heap.remove(o));
+    }
+
+    /**
+     *  Changes the priority of an element already in the structure, which
+     * is moved to where it now belongs in the queue. Saves polling and adding
+     * it again or leaving the old entry behind, i.e. when a node of a best
+     * first search is reached by a better path.
+     * @param item the element, the same as one held by the set ordering, with its new priority
+     * @return true if the element was held and moved, false if it was not held,
+     * in which case it is not added
+     */
+    public boolean update(E item) {
+        return (heap.update(item));
+    }
+
+    @Override
+    public void clear() {
+        heap.clear();
+    }
+
+    /**
+     * @return the max number of elements kept, -1 if there is no limit
+     */
+    public int capacity() {
+        return (capacity);
+    }
+
+    /**
+     * @return if bounded and holding as many elements as it can keep, so that
+     * only elements better than the one on top are taken
+     */
+    public boolean isFull() {
+        return (capacity != UNBOUNDED && heap.size() == capacity);
+    }
+
+    /**
+     * @return the elements, best first by the queue ordering, left in the structure
+     */
+    public List<E> best() {
+        List<E> list = new ArrayList<>(heap);
+        list.sort(order);
+        return (list);
     }
 
     @Override
     public int size() {
-        return (set.size());
+        return (heap.size());
     }
 }
@@ -0,0 +1,149 @@
+package old;
+
+/**
+ * <p>
+ * === Rank Select ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A read-only array of bits that can count the ones before any
+ * position (rank) and find the position of the k-th zero (select)
+ * without going over the whole array. The count of ones before each
+ * block of {@link #BLOCK} bits is kept, along with the block of every
+ * {@link #SAMPLE}-th zero, which is about a tenth more bits on top of
+ * the array itself.
+ * </p>
+ */@SuppressWarnings("unused")
+final class RankSelect {
+
+    /** The bits in a block, as a shift **/
+    private static final int BLOCK_BITS = 9;
+    /** The bits in a block **/
+    private static final int BLOCK = 1 << BLOCK_BITS;
+    /** The longs in a block, as a shift **/
+    private static final int WORDS_BITS = BLOCK_BITS - 6;
+    /** Every how many zeros the block is kept **/
+    private static final int SAMPLE = 512;
+
+    /** The bits, bit i in bit (i % 64) of long (i / 64) **/
+    private final long[] bits;
+    /** The number of bits **/
+    private final int length;
+    /** The ones before each block, and after the last block **/
+    private final int[] ranks;
+    /** The block of every {@link #SAMPLE}-th zero **/
+    private final int[] samples;
+
+    /**
+     * @param bits   see {@link #bits}, any bits past the length must be zero
+     * @param length the number of bits
+     */
+    RankSelect(long[] bits, int length) {
+        this.bits = bits;
+        this.length = length;
+
+        int blocks = (length + BLOCK - 1) >>> BLOCK_BITS;
+        ranks = new int[blocks + 1];
+        for (int b=0; b<blocks; ++b) {
+            int count = 0;
+            for (int w = b << WORDS_BITS; w < Math.min((b + 1) << WORDS_BITS, bits.length); ++w)
+                count += Long.bitCount(bits[w]);
+            ranks[b + 1] = ranks[b] + count;
+        }
+
+        samples = new int[(length - ranks[blocks]) / SAMPLE + 1];
+        int block = 0;
+        for (int s=0; s<samples.length; ++s) {
+            while (block + 1 < blocks && zeros(block + 1) <= (long) s * SAMPLE)
+                ++block;
+            samples[s] = block;
+        }
+    }
+
+    /**
+     * @param block the block
+     * @return the number of zeros before the block
+     */
+    private int zeros(int block) {
+        return ((block << BLOCK_BITS) - ranks[block]);
+    }
+
+    /**
+     * @param i the position of the bit
+     * @return if the bit is a one
+     */
+    boolean get(int i) {
+        return (((bits[i >>> 6] >>> i) & 1L) != 0);
+    }
+
+    /**
+     * @param i the position to count up to
+     * @return the number of ones before the position
+     */
+    int rank1(int i) {
+        int block = i >>> BLOCK_BITS;
+        int rank = ranks[block];
+        int w = block << WORDS_BITS;
+
+        for (; w < (i >>> 6); ++w)
+            rank += Long.bitCount(bits[w]);
+        if ((i & 63) != 0)
+            rank += Long.bitCount(bits[w] & ((1L << i) - 1));
+        return (rank);
+    }
+
+    /**
+     * @param i the position to count up to
+     * @return the number of zeros before the position
+     */
+    int rank0(int i) {
+        return (i - rank1(i));
+    }
+
+    /**
+     * @param k which zero to find, 0 for the first
+     * @return the position of the zero
+     */
+    int select0(int k) {
+        int block = samples[k / SAMPLE];
+        while (block + 1 < ranks.length - 1 && zeros(block + 1) <= k)
+            ++block;
+
+        int left = k - zeros(block);
+        int w = block << WORDS_BITS;
+        for (int z; left >= (z = Long.SIZE - Long.bitCount(bits[w])); ++w)
+            left -= z;
+
+        long x = ~bits[w];
+        for (; left > 0; --left)
+            x &= x - 1;
+        return ((w << 6) + Long.numberOfTrailingZeros(x));
+    }
+
+    /**
+     * @param i the position to start from
+     * @return the position of the first zero at or after the position,
+     * there must be one
+     */
+    int next0(int i) {
+        int w = i >>> 6;
+        long x = ~bits[w] & (-1L << i);
+        while (x == 0L)
+            x = ~bits[++w];
+        return ((w << 6) + Long.numberOfTrailingZeros(x));
+    }
+
+    /**
+     * @return the number of bits
+     */
+    int length() {
+        return (length);
+    }
+
+    /**
+     * @return the number of bits used, the array and what is kept to count it
+     */
+    long space() {
+        return ((long) Long.SIZE * bits.length + (long) Integer.SIZE * (ranks.length + samples.length));
+    }
+}
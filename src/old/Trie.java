@@ -4,11 +4,23 @@ import java.io.BufferedReader;
         import java.io.File;
         import java.io.FileReader;
         import java.io.IOException;
+        import java.io.UncheckedIOException;
         import java.nio.charset.Charset;
+        import java.nio.charset.StandardCharsets;
         import java.nio.file.Files;
         import java.nio.file.Path;
         import java.nio.file.Paths;
         import java.util.*;
+        import java.util.concurrent.CompletableFuture;
+        import java.util.concurrent.Executor;
+        import java.util.concurrent.ForkJoinPool;
+        import java.util.concurrent.RecursiveAction;
+        import java.util.concurrent.RecursiveTask;
+        import java.util.function.ToIntFunction;
+        import java.util.stream.Collectors;
+        import java.util.stream.IntStream;
+        import java.util.stream.Stream;
+        import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -59,6 +71,30 @@ public final class Trie {
      */
     public static final int NO_LIMIT = -22;
 
+    /**
+     *  The number of wildcard positions, after the start, that
+     * {@link #findWordsParallel(String, int, CharacterCounter)}
+     * splits into a task for each character that can be used.
+     */
+    private static final int PARALLEL_SPLITS = 1;
+
+    /**
+     *  A cleared set of bits for each thread, for {@link Results} to mark
+     * the words found without making a new set for every search. Taken
+     * while a search is using it, so a search started while another on the
+     * same thread is running makes its own.
+     */
+    private static final ThreadLocal<BitSet> SEEN = new ThreadLocal<>();
+
+    /** The most bits a set can have grown to and still be kept in {@link #SEEN}, a megabyte **/
+    private static final int SEEN_KEPT = 1 << 23;
+
+    /**
+     *  The number of characters a node can branch on, the
+     * upper case Latin alphabet 'A' to 'Z'.
+     */
+    static final int ALPHABET = 26;
+
     /**
      *  The root of the trie. This node is special as it
      * should be the only node with a null character value.
@@ -66,6 +102,49 @@ public final class Trie {
      */
     private final Node root;
 
+    /**
+     *  The results of recent searches, by their query. Null
+     * unless turned on with {@link #cache(int)}.
+     */
+    private volatile LruCache<String, List<?>> cache = null;
+
+    /**
+     *  The words by the letters they are made of. Null unless
+     * built with {@link #indexAnagrams()}.
+     */
+    private volatile AnagramIndex anagrams = null;
+
+    /**
+     *  The letters of every word one after another, in the order
+     * of their ids. Each word is given the next id when added, so
+     * ids run from 0 to the number of words.
+     */
+    private byte[] letters = new byte[4096];
+
+    /** Where each word starts in {@link #letters}, the word with id i ends where i + 1 starts **/
+    private int[] offsets = new int[1025];
+
+    /** The node of each word, by its id **/
+    private Node[] byId = new Node[1024];
+
+    /** The number of ids given, i.e. the number of words **/
+    private int count = 0;
+
+    /** The id of each word by its place in alphabetical order, see {@link #rank()} **/
+    private int[] byRank = new int[0];
+
+    /** If a word was given an id since the places were last given **/
+    private volatile boolean unranked = false;
+
+    /** The number of completions kept at each node, 0 unless built with {@link #indexCompletions(int)} **/
+    private int completions = 0;
+
+    /** The weight of a word for ranking completions, null to use the score **/
+    private ToIntFunction<String> weight = null;
+
+    /** The weight of each word by its id, only kept while completions are **/
+    private int[] weights = null;
+
     /**
      *  The default constructor of the Trie. Initializes
      * the tree to simply the root 'null character' node.
@@ -119,9 +198,326 @@ public final class Trie {
         if (add.word)
             return (false);
         add.word = true;
+        add.raise(root);
+        number(add, word);
+
+        if (completions > 0)
+            complete(add);
+
+        AnagramIndex index = anagrams;
+        if (index != null)
+            index.add(word);
+
+        /** Results cached before the word was added may be missing it **/
+        LruCache<String, List<?>> results = cache;
+        if (results != null)
+            results.clear();
+
         return (true);
     }
 
+    /**
+     *  Builds a {@link Gaddag} of the words, for finding the words that
+     * fit on a row of a board from the letters already on it.
+     * @return the graph of the words
+     */
+    public Gaddag gaddag() {
+        return (new Gaddag(toList()));
+    }
+
+    /**
+     *  Packs the words of the Trie into a {@link LoudsTrie}, a few bits
+     * for each node. Like {@link #freeze()} it cannot be changed and later
+     * changes to the Trie are not seen by it.
+     * @return the succinct trie of the words
+     */
+    public LoudsTrie louds() {
+        LoudsTrie.Builder builder = new LoudsTrie.Builder();
+        Queue<Node> level = new ArrayDeque<>();
+        level.add(root);
+
+        while (!level.isEmpty()) {
+            Node n = level.remove();
+            builder.node(n.word, n.mask);
+            Collections.addAll(level, n.children);
+        }
+        return (builder.build());
+    }
+
+    /**
+     *  Keeps at each node the best words, by score, that start with the
+     * characters leading to it, so that {@link #autocomplete(String)}
+     * only has to find the node of the prefix. The lists are worked out
+     * once from the bottom up, each from the lists of the children, and
+     * kept up to date as words are added.
+     * @param k the number of completions kept at each node, 0 to stop keeping them
+     */
+    public void indexCompletions(int k) {
+        indexCompletions(k, null);
+    }
+
+    /**
+     *  Keeps at each node the best words, by the given weight, that start
+     * with the characters leading to it.
+     * @see #indexCompletions(int)
+     * @param k      the number of completions kept at each node, 0 to stop keeping them
+     * @param weight the weight of a word, the highest first, null to use the score
+     */
+    public void indexCompletions(int k, ToIntFunction<String> weight) {
+        this.completions = Math.max(0, k);
+        this.weight = weight;
+        this.weights = null;
+
+        if (completions > 0) {
+            weights = new int[byId.length];
+            for (int id=0; id<count; ++id)
+                weights[id] = (weight == null) ? byId[id].score : weight.applyAsInt(word(id));
+        }
+        completeBelow(root);
+    }
+
+    /**
+     *  Gets the best words that start with the given prefix, including the
+     * prefix itself if it is a word. Only looks up the node of the prefix,
+     * no matter how many words start with it.
+     * @throws IllegalStateException if {@link #indexCompletions(int)} has not been used
+     * @param prefix the start of the words
+     * @return the best words that start with the prefix, highest weight first
+     */
+    public List<String> autocomplete(String prefix) {
+        if (completions == 0)
+            throw new IllegalStateException("TRIE FAILED - completions are not indexed");
+
+        prefix = prefix.toUpperCase();
+
+        Node get = root;
+        for (int i=0; i<prefix.length() && get != null; ++i)
+            get = get.child(prefix.charAt(i));
+
+        return ((get == null || get.completions == null) ? new ArrayList<>() : words(get.completions));
+    }
+
+    /**
+     *  Works out the completions of a node and all of the nodes below it,
+     * the best of its own word and the completions of its children.
+     * @param n the node to work out the completions of
+     * @return the completions of the node, null if none
+     */
+    private int[] completeBelow(Node n) {
+        int[] best = null;
+
+        for (Node child : n.children) {
+            int[] below = completeBelow(child);
+            if (below != null)
+                best = merge(best, below);
+        }
+        if (n.word)
+            best = merge(best, new int[] { n.id });
+
+        n.completions = best;
+        return (best);
+    }
+
+    /**
+     *  Adds a new word to the completions of its node and those above it.
+     * @param n the node of the new word
+     */
+    private void complete(Node n) {
+        if (n.id >= weights.length)
+            weights = Arrays.copyOf(weights, byId.length);
+        weights[n.id] = (weight == null) ? n.score : weight.applyAsInt(word(n.id));
+
+        int[] add = { n.id };
+        for (Node up = n; up != null; up = up.parent)
+            up.completions = merge(up.completions, add);
+    }
+
+    /**
+     *  Merges two lists of completions, keeping the best.
+     * @param a the first list, highest weight first, may be null
+     * @param b the second list, highest weight first
+     * @return the best of both lists, at most the number kept
+     */
+    private int[] merge(int[] a, int[] b) {
+        if (completions == 0)
+            return (null);
+        if (a == null)
+            return (b.length <= completions ? b : Arrays.copyOf(b, completions));
+
+        int[] merged = new int[Math.min(completions, a.length + b.length)];
+        int i = 0;
+        int j = 0;
+        for (int k=0; k<merged.length; ++k) {
+            if (j == b.length || (i < a.length && compareCompletions(a[i], b[j]) < 0))
+                merged[k] = a[i++];
+            else
+                merged[k] = b[j++];
+        }
+        return (merged);
+    }
+
+    /**
+     *  Compares two completions, the highest weight first then alphabetically.
+     * @param a the id of the first word
+     * @param b the id of the second word
+     * @return negative if a comes first, zero if the same, positive if b comes first
+     */
+    private int compareCompletions(int a, int b) {
+        int result = Integer.compare(weights[b], weights[a]);
+        return ((result == 0) ? compareIds(a, b) : result);
+    }
+
+    /**
+     *  Builds an index of the words by the letters they are made of,
+     * kept up to date as words are added. Once built it is used by
+     * {@link #wordsFromCharacters(CharacterCounter)} in place of
+     * walking the Trie, the words found are the same either way. It is
+     * not built when the Trie is, as it keeps its own copy of every word.
+     * @return the index of the words
+     */
+    public AnagramIndex indexAnagrams() {
+        AnagramIndex index = anagrams;
+        if (index == null) {
+            index = new AnagramIndex(toList());
+            anagrams = index;
+
+            /** Results cached before are searched again through the index **/
+            LruCache<String, List<?>> results = cache;
+            if (results != null)
+                results.clear();
+        }
+        return (index);
+    }
+
+    /**
+     *  Turns on caching of search results. The same searches are often
+     * made over and over, the results of the last few are kept by their
+     * query (the pattern made upper case and the characters sorted) and
+     * given back without searching again. Adding a word clears the cache.
+     * Only {@link #wordsMatchString(String)}, {@link #wordsFromCharacters(CharacterCounter)}
+     * and {@link #findWords(String, int, CharacterCounter)} (and the methods
+     * calling them) use the cache.
+     * @param capacity the max number of results kept, 0 to turn caching off
+     */
+    public void cache(int capacity) {
+        cache = (capacity == 0 ? null : new LruCache<>(capacity));
+    }
+
+    /**
+     * @return the cache of search results, with its hit and miss counts,
+     * null if caching is off
+     */
+    public LruCache<String, List<?>> cache() {
+        return (cache);
+    }
+
+    /**
+     *  Looks up the results of a search in the cache.
+     * @param query the normalized query of the search
+     * @param <T>   the type of the results
+     * @return a copy of the results, null if not cached
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> cached(String query) {
+        LruCache<String, List<?>> results = cache;
+        List<?> found = (results == null ? null : results.get(query));
+        return (found == null ? null : new ArrayList<>((List<T>) found));
+    }
+
+    /**
+     *  Keeps the results of a search in the cache, if caching is on.
+     * @param query  the normalized query of the search
+     * @param result the results of the search
+     * @param <T>    the type of the results
+     * @return the given results
+     */
+    private <T> List<T> remember(String query, List<T> result) {
+        LruCache<String, List<?>> results = cache;
+        if (results != null && result != null)
+            results.put(query, Collections.unmodifiableList(new ArrayList<>(result)));
+        return (result);
+    }
+
+    /**
+     *  Builds a Trie of the given words in parallel. Words are split
+     * up by their first two characters and each group is added under
+     * its own node on the {@link ForkJoinPool#commonPool()}, as no two
+     * groups share a node they need no locking. Words are trimmed and
+     * made upper case, words that are empty or have characters not in
+     * the Latin alphabet are skipped.
+     * @param words the words to fill the Trie with, in any order
+     * @return the Trie holding the words
+     */
+    public static Trie build(Stream<String> words) {
+        Trie trie = new Trie();
+
+        List<String> valid = words.parallel()
+                .map((word) -> word.toUpperCase().trim())
+                .filter((word) -> word.length() > 0 && trie.check_upper_alpha(word))
+                .collect(Collectors.toList());
+
+        /** Groups by the first character and the second, or the lack of one **/
+        List<List<String>> groups = new ArrayList<>();
+        List<Node> nodes = new ArrayList<>();
+        int[] index = new int[ALPHABET * (ALPHABET + 1)];
+        Arrays.fill(index, -1);
+
+        for (String word : valid) {
+            int first = word.charAt(0) - 'A';
+            int second = (word.length() > 1) ? word.charAt(1) - 'A' + 1 : 0;
+            int key = first * (ALPHABET + 1) + second;
+
+            if (index[key] < 0) {
+                /** Makes the node the group is added under, before any group is added **/
+                Node group = trie.root.add(word.charAt(0));
+                if (second > 0)
+                    group = group.add(word.charAt(1));
+                index[key] = groups.size();
+                groups.add(new ArrayList<>());
+                nodes.add(group);
+            }
+            groups.get(index[key]).add(word);
+        }
+
+        ForkJoinPool.commonPool().invoke(new Insert(nodes, groups, 0, groups.size()));
+
+        /** The nodes above the groups are shared, so are only raised once all groups are added **/
+        for (Node group : nodes) {
+            if (group.best >= 0)
+                group.parent.raise(trie.root, group.best);
+        }
+
+        /** Ids are given once every word is in, in alphabetical order **/
+        trie.number(trie.root, new StringBuilder());
+        return (trie);
+    }
+
+    /**
+     *  Builds a Trie of the given words in parallel.
+     * @see #build(Stream)
+     * @param words the words to fill the Trie with, in any order
+     * @return the Trie holding the words
+     */
+    public static Trie build(Collection<String> words) {
+        return (build(words.stream()));
+    }
+
+    /**
+     *  Builds a Trie of the words in the given dictionary file in parallel.
+     * The file is read the same as by {@link #Trie(String)}.
+     * @see #build(Stream)
+     * @throws RuntimeException when there is an issue with the dictionary file
+     * @param dictionary the word list that will fill the Trie
+     * @return the Trie holding the words
+     */
+    public static Trie build(Path dictionary) {
+        try (Stream<String> lines = Files.lines(dictionary)) {
+            return (build(lines.flatMap((line) -> Arrays.stream(line.split(",")))));
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("TRIE FAILED - Issue with dictionary file.");
+        }
+    }
+
     /**
      *  The character score specified by the values given by
      * the Scrabble board game.
@@ -249,13 +645,39 @@ public final class Trie {
         return (root.node_depth());
     }
 
+    /**
+     *  Freezes the words of the Trie into a minimal {@link Dawg},
+     * nodes leading to the same endings are shared. The Dawg cannot
+     * be changed, later changes to the Trie are not seen by it.
+     * @return the minimal graph of the words in the Trie
+     */
+    public Dawg freeze() {
+        Dawg.Builder builder = new Dawg.Builder();
+        return (builder.build(freeze(root, builder)));
+    }
+
+    /**
+     *  The meat of the {@link #freeze()} method, gives the
+     * children of a node before the node itself.
+     * @param n       the node to freeze
+     * @param builder the graph being built
+     * @return the node in the graph
+     */
+    private static int freeze(Node n, Dawg.Builder builder) {
+        int[] children = new int[n.children.length];
+        for (int i=0; i<children.length; ++i) {
+            children[i] = freeze(n.children[i], builder);
+        }
+        return (builder.node(n.word, n.mask, children));
+    }
+
     /**
      *  Checks if a character is an upper case Latin character.
      * @param c the character to check
      * @return if the character is an upper case Latin character
      */
     public static boolean isUpperAlpha(char c) {
-        return (c >= 'A' || c <= 'Z');
+        return (c >= 'A' && c <= 'Z');
     }
 
     /**
@@ -283,19 +705,42 @@ public final class Trie {
     private void toList(List<String> found, Node n) {
         if (n != null) {
             if (n.word) {
-                found.add(n.build());
+                found.add(text(n));
             }
 
-            for (char c : n.children.keySet()) {
-                toList(found, n.child(c));
+            for (Node child : n.children) {
+                toList(found, child);
             }
         }
     }
 
+    /**
+     *  Streams the words, found one at a time in alphabetical order
+     * as the stream is used rather than all at once.
+     * @return the words stored in a stream
+     */
+    public Stream<String> stream() {
+        Walk<String> walk = new Walk<String>() {
+            @Override
+            String visit(Frame f) {
+                Node n = f.n;
+                for (int i=n.children.length - 1; i>=0; --i) {
+                    push(new Frame(n.children[i], f));
+                }
+                return (n.word ? text(n) : null);
+            }
+        };
+        walk.push(new Frame(root));
+        return (walk.stream());
+    }
+
     /**
      *  Saves the dictionary to a file.
+     * @deprecated writes plain text to a fixed folder, use {@link #write(Path)}
+     * which saves a form that can be opened without rebuilding the Trie
      * @param filename the name of the save file
      */
+    @Deprecated
     public void toFile(String filename) {
         try {
             List<String> lines = toList();
@@ -308,12 +753,23 @@ public final class Trie {
         }
     }
 
+    /**
+     *  Saves the dictionary in the binary form of its {@link Dawg}, which
+     * can be opened again with {@link MappedDawg#open(Path)} instead of
+     * rebuilding the Trie from a word list.
+     * @throws RuntimeException when the file could not be written
+     * @param file the file to save to, replaced if it exists
+     */
+    public void write(Path file) {
+        freeze().write(file);
+    }
+
     /**
      *  Finds the total number of words stored in the Trie
      * @return The number of words in the Trie
      */
     public int words() {
-        return (root.word_count());
+        return (count);
     }
 
     /**
@@ -362,16 +818,13 @@ public final class Trie {
      * @return the list of words sorted to highest Scrabble score
      */
     public List<String> wordsFromCharacters(List<Character> chars) {
-        CharacterCounter char_map = new CharacterCounter(chars);
-
         /** Checks if accepted characters **/
         for (Character c : chars) {
             if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
                 return (null);
-            char_map.increment(c);
         }
 
-        return (wordsFromCharacters(char_map));
+        return (wordsFromCharacters(new CharacterCounter(chars)));
     }
 
     /**
@@ -383,19 +836,87 @@ public final class Trie {
      * as at most the initial count in the
      * CharacterCounter.
      * @param chars the characters to use to build the words
-     * @return the words found
+     * @return the words found, each once, sorted to highest Scrabble score
      */
     public List<String> wordsFromCharacters(CharacterCounter chars) {
-        Queue<Node> words = new PriorityQueue<>(Node::compareScore);
+        int[] rack = rack(chars);
+        String query = "C" + key(rack);
+
+        List<String> found = cached(query);
+        if (found != null)
+            return (found);
+
+        AnagramIndex index = anagrams;
+        if (index != null)
+            return (remember(query, index.find(rack)));
+
+        Queue<Node> words = new ArrayDeque<>();
 
         /** Makes the call to the method that actually determine words **/
-        wordsFromCharacters(root, chars, words);
+        wordsFromCharacters(root, rack, words);
 
-        List<String> ret = new ArrayList<>();
+        /** A word found more than once, through wild cards, is given once like the index does **/
+        return (remember(query, words(ranked(words))));
+    }
+
+    /**
+     *  Finds the ids of the words that can be created with the given
+     * characters, each word once.
+     * @see #wordsFromCharacters(CharacterCounter)
+     * @see #word(int)
+     * @param chars the characters to use to build the words
+     * @return the ids of the words found, ordered to highest Scrabble score
+     */
+    public int[] idsFromCharacters(CharacterCounter chars) {
+        Queue<Node> words = new ArrayDeque<>();
+        wordsFromCharacters(root, rack(chars), words);
+        return (ranked(words));
+    }
+
+    /**
+     *  Gets the best words, by score, that can be created with the given
+     * characters. Subtrees that cannot hold a word better than the worst
+     * of the best found so far are not searched.
+     * @see #wordsFromCharacters(String)
+     * @param chars the characters to find words built from
+     * @param k     the max number of words to find
+     * @return the best words, sorted to highest Scrabble score
+     */
+    public List<String> wordsFromCharacters(String chars, int k) {
+        chars = chars.toUpperCase();
+
+        for (int i=0; i<chars.length(); ++i) {
+            char c = chars.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        return (wordsFromCharacters(new CharacterCounter(chars), k));
+    }
+
+    /**
+     *  Gets the best words, by score, that can be created with the given
+     * characters. Subtrees that cannot hold a word better than the worst
+     * of the best found so far are not searched.
+     * @see #wordsFromCharacters(CharacterCounter)
+     * @param chars the characters to use to build the words
+     * @param k     the max number of words to find
+     * @return the best words, sorted to highest Scrabble score
+     */
+    public List<String> wordsFromCharacters(CharacterCounter chars, int k) {
+        rank();
+
+        /** Words of the same score are kept alphabetically, as when all are found **/
+        PriorityQueueTreeSet<Node> words = new PriorityQueueTreeSet<>(Math.max(0, k), (x, y) -> {
+            int result = Node.compareScore(x, y);
+            return ((result == 0) ? Node.compareWord(x, y) : result);
+        }, Node::compareWord);
 
-        /** Builds the list of words, ordered by score **/
-        while (!words.isEmpty()) {
-            ret.add(words.poll().build());
+        wordsFromCharacters(root, rack(chars), words);
+
+        List<String> ret = new ArrayList<>();
+        for (Node n : words.best()) {
+            ret.add(text(n));
         }
 
         return (ret);
@@ -403,11 +924,17 @@ public final class Trie {
 
     /**
      *  Recursive function that performs the required action of {@link Trie#wordsFromCharacters(List)}.
+     * @see #rack(CharacterCounter)
      * @param n the current node to be considered
-     * @param chars the characters and how many of each remain to be used
+     * @param rack the count of each character that remains to be used, changed
+     *             while searching but the same once done
      * @param words the words that have been found
      */
-    private void wordsFromCharacters(Node n, CharacterCounter chars, Queue<Node> words) {
+    private void wordsFromCharacters(Node n, int[] rack, Queue<Node> words) {
+        /** Nothing below can make it into the best words found **/
+        if (n.best < floor(words, (m) -> m.score))
+            return;
+
         if (n.word) {
             /** If the current node represents a word it
              can be built with the given characters
@@ -415,24 +942,56 @@ public final class Trie {
             words.add(n);
         }
 
-        /** Looks at each of the characters available **/
-        chars.forEach((c) ->
-                /** Reduces the character from the counter
-                 and performs the search again at child nodes **/
-                chars.actionWithReducedChar(c, () -> {
-                    if (c == SINGLE_WILD_CARD) {
-                        /** If the character is a wild card it goes through
-                         each of the child nodes since it can represent any
-                         of them                                            **/
-                        for (Node child : n.children.values())
-                            wordsFromCharacters(child, chars, words);
-                    } else {
-                        Node child = n.children.get(c);
-                        if (child != null)
-                            wordsFromCharacters(child, chars, words);
+        /** Looks at each child with its character available, reducing
+         the count and performing the search again at that child **/
+        for (Node child : n.children) {
+            int i = child.character - 'A';
+            if (rack[i] > 0) {
+                --rack[i];
+                wordsFromCharacters(child, rack, words);
+                ++rack[i];
+            }
+        }
+
+        /** If a wild card is available it goes through each of the
+         child nodes since it can represent any of them            **/
+        if (rack[ALPHABET] > 0) {
+            --rack[ALPHABET];
+            for (Node child : n.children)
+                wordsFromCharacters(child, rack, words);
+            ++rack[ALPHABET];
+        }
+    }
+
+    /**
+     *  Streams the words that can be created with the given characters,
+     * found one at a time in alphabetical order as the stream is used.
+     * Each word is only found once, a character is always used before
+     * a wild card that could be used in its place.
+     * @see #wordsFromCharacters(CharacterCounter)
+     * @param chars the characters to use to build the words, not changed
+     * @return the words found in a stream
+     */
+    public Stream<String> streamFromCharacters(CharacterCounter chars) {
+        Walk<String> walk = new Walk<String>() {
+            @Override
+            String visit(Frame f) {
+                Node n = f.n;
+                for (int i=n.children.length - 1; i>=0; --i) {
+                    int[] rack = reduced(f.rack, n.children[i].character);
+                    if (rack != null) {
+                        Frame next = new Frame(n.children[i], f);
+                        next.rack = rack;
+                        push(next);
                     }
-                })
-        );
+                }
+                return (n.word ? text(n) : null);
+            }
+        };
+        Frame start = new Frame(root);
+        start.rack = rack(chars);
+        walk.push(start);
+        return (walk.stream());
     }
 
     /**
@@ -443,12 +1002,55 @@ public final class Trie {
      * be in that space. Similarly if {@link Trie#MULTI_WILD_CARD}
      * is used then any number of characters can appear in that
      * place.
+     * @see WordPattern
+     * @throws IllegalArgumentException if the pattern is longer than {@link WordPattern#MAX_LENGTH}
      * @param search The pattern string to match
      * @return the list of words that match the pattern
      */
     public List<String> wordsMatchString(String search) {
-        Queue<Node> words = new PriorityQueueTreeSet<>(Node::compareScore, Node::compareWord);
+        WordPattern pattern = compile(search);
+        if (pattern == null)
+            return (null);
+
+        String query = "M" + pattern;
+        List<String> found = cached(query);
+        return (found != null ? found : remember(query, wordsMatchString(pattern)));
+    }
+
+    /**
+     *  Builds a list of the words contained by the Trie that match
+     * with the given compiled pattern, see {@link #wordsMatchString(String)}.
+     * @param pattern the pattern to match
+     * @return the list of words that match the pattern
+     */
+    public List<String> wordsMatchString(WordPattern pattern) {
+        return (words(idsMatchString(pattern)));
+    }
+
+    /**
+     *  Finds the ids of the words that match with the given compiled
+     * pattern, see {@link #wordsMatchString(String)}.
+     * @see #word(int)
+     * @param pattern the pattern to match
+     * @return the ids of the words that match, ordered to highest Scrabble score
+     */
+    public int[] idsMatchString(WordPattern pattern) {
+        Queue<Node> words = new ArrayDeque<>();
+
+        /** makes the call to run the actual search **/
+        wordsMatchString(root, pattern, pattern.start(), words);
 
+        return (ranked(words));
+    }
+
+    /**
+     *  Compiles a pattern string to be matched by {@link #wordsMatchString(WordPattern)}
+     * and {@link #streamMatchString(WordPattern)}, any number of times.
+     * @throws IllegalArgumentException if the pattern is longer than {@link WordPattern#MAX_LENGTH}
+     * @param search the pattern string
+     * @return the compiled pattern, null if the pattern has characters that are not allowed
+     */
+    public static WordPattern compile(String search) {
         /** Allows for lower case Latin characters to be used **/
         search = search.toUpperCase();
 
@@ -459,67 +1061,161 @@ public final class Trie {
                 return (null);
         }
 
-        /** makes the call to run the actual search **/
-        wordsMatchString(root, search, 0, words);
+        return (new WordPattern(search));
+    }
 
-        List<String> ret = new ArrayList<>();
+    /**
+     *  Does the actual work of the {@link Trie#wordsMatchString(WordPattern)}.
+     * Recursively finds the words that match with the pattern. Every
+     * position the pattern could be at is moved along together, so each
+     * node is visited at most once and no word can be found twice.
+     * @param n       the current node to examine
+     * @param pattern the pattern to match
+     * @param states  the positions in the pattern that reach this node
+     * @param words   the currently found words that match the given pattern
+     */
+    private static void wordsMatchString(Node n, WordPattern pattern, long states, Queue<Node> words) {
+        if (n.word && pattern.matches(states, n.children.length > 0)) {
+            words.add(n);
+        }
 
-        /** Builds the list of words, ordered by score **/
-        while (!words.isEmpty()) {
-            ret.add(words.poll().build());
+        for (Node child : n.children) {
+            long next = pattern.step(states, child.character - 'A');
+            if (next != 0L) {
+                wordsMatchString(child, pattern, next, words);
+            }
         }
+    }
+
+    /**
+     *  Finds the words within a number of edits of the given word, an
+     * edit being a character added, removed or changed (i.e. "CART" is
+     * one edit from "CAT", "CAST" and "ART"). The edit distance to the
+     * word is worked out a row at a time as the Trie is walked, the row
+     * of a node from the row of its parent, so words sharing a beginning
+     * share the work. A node whose row is more than the max edits
+     * everywhere cannot lead to a close enough word and is not searched.
+     * @param word     the word to find close words to
+     * @param maxEdits the max number of edits from the word
+     * @return the words found, the fewest edits first then the highest
+     * Scrabble score, null if the word has characters not in the Latin alphabet
+     */
+    public List<String> fuzzy(String word, int maxEdits) {
+        word = word.toUpperCase();
+
+        if (!check_upper_alpha(word))
+            return (null);
+        if (maxEdits < 0)
+            return (new ArrayList<>());
+
+        /** No word is more edits away than the longer of it and the word, so the rows are only made that deep **/
+        if (maxEdits > word.length())
+            maxEdits = Math.max(word.length(), depth());
+
+        /** The edits to the start of the word from the root, adding each character **/
+        int[][] rows = new int[word.length() + maxEdits + 2][];
+        rows[0] = new int[word.length() + 1];
+        for (int i=0; i<=word.length(); ++i)
+            rows[0][i] = i;
+
+        rank();
+
+        List<Long> found = new ArrayList<>();
+        for (Node child : root.children)
+            fuzzy(child, word, rows, 1, maxEdits, found);
 
+        /** The edits, score and alphabetical place of each word are packed so they sort in order **/
+        long[] keys = new long[found.size()];
+        for (int i=0; i<keys.length; ++i)
+            keys[i] = found.get(i);
+        Arrays.sort(keys);
+
+        List<String> ret = new ArrayList<>(keys.length);
+        for (long key : keys)
+            ret.add(word(byRank[(int) key]));
         return (ret);
     }
 
     /**
-     *  Does the actual work of the {@link Trie#wordsMatchString(String)}.
-     * Recursively finds the words that match with the pattern.
-     * @param n      the current node to examine
-     * @param search the characters of the search string
-     * @param pos    the current position to focus on in the search string
-     * @param words  the currently found words that match the given search string
+     *  Does the actual work of the {@link #fuzzy(String, int)}, working
+     * out the row of the node from the row above it.
+     * @param n        the current node of the search
+     * @param word     the word to find close words to
+     * @param rows     the rows of the nodes above, by depth
+     * @param depth    the depth of the current node
+     * @param maxEdits the max number of edits from the word
+     * @param found    the words found, packed as edits, score and alphabetical place
      */
-    private void wordsMatchString(Node n, String search, int pos, Queue<Node> words) {
-        if (n != null) {
-            if (search.length() == pos) {
-                if (n.word) {
-                    words.add(n);
-                }
-            } else {
-                char c = search.charAt(pos);
+    private void fuzzy(Node n, String word, int[][] rows, int depth, int maxEdits, List<Long> found) {
+        int[] above = rows[depth - 1];
+        int[] row = rows[depth];
+        if (row == null)
+            row = rows[depth] = new int[above.length];
+
+        row[0] = above[0] + 1;
+        int min = row[0];
+        for (int i=1; i<row.length; ++i) {
+            int change = above[i - 1] + (word.charAt(i - 1) == n.character ? 0 : 1);
+            row[i] = Math.min(change, Math.min(above[i], row[i - 1]) + 1);
+            min = Math.min(min, row[i]);
+        }
 
-                switch (c) {
-                    case MULTI_WILD_CARD :
-                        for (Node child : n.children.values()) {
-                            wordsMatchString(child, search, pos, words);
-                            wordsMatchString(child, search, pos + 1, words);
-                        }
-                        break;
+        int edits = row[row.length - 1];
+        if (n.word && edits <= maxEdits)
+            found.add(((long) edits << 56) | ((long) (0xFFFFFF - n.score) << Integer.SIZE) | n.rank);
 
-                    case SINGLE_WILD_CARD :
-                        for (Node child : n.children.values()) {
-                            wordsMatchString(child, search, pos + 1, words);
-                        }
-                        break;
+        /** Rows only grow deeper down, past the max edits nothing below can match **/
+        if (min <= maxEdits && depth + 1 < rows.length) {
+            for (Node child : n.children)
+                fuzzy(child, word, rows, depth + 1, maxEdits, found);
+        }
+    }
 
-                    case NULLABLE_WILD_CARD:
-                        if (n == root) {
-                            wordsMatchString(root, search, pos + 1, words);
-                        }
-                        for (Node child : n.children.values()) {
-                            if (n.word) {
-                                words.add(n);
-                            }
-                            wordsMatchString(child, search, pos + 1, words);
-                        }
-                        break;
+    /**
+     *  Streams the words that match with the given pattern string,
+     * found one at a time in alphabetical order as the stream is used.
+     * @see #streamMatchString(WordPattern)
+     * @throws IllegalArgumentException if the pattern is longer than {@link WordPattern#MAX_LENGTH}
+     * @param search the pattern string to match
+     * @return the words that match the pattern in a stream, null if the
+     * pattern has characters that are not allowed
+     */
+    public Stream<String> streamMatchString(String search) {
+        WordPattern pattern = compile(search);
+        return (pattern == null ? null : streamMatchString(pattern));
+    }
 
-                    default :
-                        wordsMatchString(n.child(c), search, pos + 1, words);
+    /**
+     *  Streams the words that match with the given compiled pattern,
+     * found one at a time in alphabetical order as the stream is used.
+     * Each node is visited once along with the set of positions in the
+     * pattern it can be at, so no word is found twice and nothing found
+     * needs to be kept.
+     * @see #wordsMatchString(String)
+     * @param pattern the pattern to match
+     * @return the words that match the pattern in a stream
+     */
+    public Stream<String> streamMatchString(WordPattern pattern) {
+        Walk<String> walk = new Walk<String>() {
+            @Override
+            String visit(Frame f) {
+                Node n = f.n;
+                for (int i=n.children.length - 1; i>=0; --i) {
+                    long states = pattern.step(f.states, n.children[i].character - 'A');
+                    if (states != 0L) {
+                        Frame next = new Frame(n.children[i], f);
+                        next.states = states;
+                        push(next);
+                    }
                 }
+                return ((n.word && pattern.matches(f.states, n.children.length > 0)) ? text(n) : null);
             }
-        }
+        };
+
+        Frame start = new Frame(root);
+        start.states = pattern.start();
+        walk.push(start);
+        return (walk.stream());
     }
 
     /**
@@ -534,7 +1230,7 @@ public final class Trie {
         if (chars == null || chars.length == 0) {
             return (wordsMatchString(search));
         } else {
-            Queue<Node> words = new PriorityQueue<>(Node::compareScore);
+            Queue<Node> words = new ArrayDeque<>();
             CharacterCounter char_map = new CharacterCounter();
 
             search = search.toUpperCase();
@@ -555,8 +1251,8 @@ public final class Trie {
 
             List<String> ret = new ArrayList<>();
 
-            while (!words.isEmpty()) {
-                ret.add(words.poll().build());
+            for (int id : ranked(words)) {
+                ret.add(word(id));
             }
 
             return (ret);
@@ -577,7 +1273,7 @@ public final class Trie {
     private void wordsMatchStringWithCharacters(Node n, String search, int pos, CharacterCounter chars, Queue<Node> words, boolean is_word) {
         if (n != null) {
             if (search.length() == pos) {
-                if (n.word && !words.contains(n)) {
+                if (n.word) {
                     words.add(n);
                 }
             } else {
@@ -596,7 +1292,7 @@ public final class Trie {
                         chars.forEach((key) ->
                                 chars.actionWithReducedChar(key, () -> {
                                     if (key == SINGLE_WILD_CARD) {
-                                        for (Node child : n.children.values())
+                                        for (Node child : n.children)
                                             wordsMatchStringWithCharacters(child, search, pos + 1, chars, words, true);
                                     } else {
                                         wordsMatchStringWithCharacters(n.child(key), search, pos + 1, chars, words, true);
@@ -610,7 +1306,7 @@ public final class Trie {
                         chars.forEach((key) ->
                                 chars.actionWithReducedChar(key, () -> {
                                     if (key == SINGLE_WILD_CARD) {
-                                        for (Node child : n.children.values())
+                                        for (Node child : n.children)
                                             wordsMatchStringWithCharacters(child, search, pos + 1, chars, words, true);
                                     } else {
                                         wordsMatchStringWithCharacters(n.child(key), search, pos + 1, chars, words, true);
@@ -676,8 +1372,6 @@ public final class Trie {
         if (chars == null || chars.remaining() == 0) {
             return (new ArrayList<>());
         } else {
-            Queue<SearchResult> words = new PriorityQueueTreeSet<>(SearchResult::compareByScore, SearchResult::compareByWord);
-
             search = search.toUpperCase();
 
             for (int i = 0; i < search.length(); ++i) {
@@ -700,20 +1394,146 @@ public final class Trie {
                 break;
             }
 
-            for (int i=0; i<=len; ++i) {
-                findWords(root, search, i, i, words, chars, 0, limit, false);
-            }
+            int[] rack = rack(chars);
+            String query = "F" + search + "/" + limit + "/" + key(rack);
 
-            List<SearchResult> ret = new ArrayList<>();
+            List<SearchResult> found = cached(query);
+            if (found != null)
+                return (found);
 
-            while (!words.isEmpty()) {
-                ret.add(words.poll());
+            rank();
+            Results words = new Results(seen(), 0, len + 1, count);
+
+            for (int i=0; i<=len; ++i) {
+                findWords(root, search, i, i, words, rack, 0, limit, false);
             }
 
-            return (ret);
+            List<SearchResult> ret = words.sorted();
+            release(words.seen);
+
+            return (remember(query, ret));
         }
     }
 
+    /**
+     *  Finds the best results, by score, of {@link #findWords(String, int, CharacterCounter)}.
+     * Subtrees that cannot hold a word better than the worst of the
+     * best found so far are not searched.
+     * @param search the search match string
+     * @param limit  the max number of characters to use from the given characters
+     * @param chars  the characters to use
+     * @param k      the max number of results to find
+     * @return the best results of the matching, sorted to highest Scrabble score
+     */
+    public List<SearchResult> findWords(String search, int limit, CharacterCounter chars, int k) {
+        if (chars == null || chars.remaining() == 0) {
+            return (new ArrayList<>());
+        }
+
+        search = search.toUpperCase();
+
+        for (int i = 0; i < search.length(); ++i) {
+            char c = search.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD || c == NULLABLE_WILD_CARD))
+                return (null);
+        }
+
+        for (Character c : chars) {
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        int len = -1;
+        for (int i=0; i<search.length(); ++i) {
+            if (search.charAt(i) != NULLABLE_WILD_CARD) {
+                len = i;
+                break;
+            }
+        }
+
+        rank();
+        PriorityQueueTreeSet<SearchResult> words = new PriorityQueueTreeSet<>(Math.max(0, k), SearchResult::compareByRank, SearchResult::compareByWord);
+
+        int[] rack = rack(chars);
+        for (int i=0; i<=len; ++i) {
+            findWords(root, search, i, i, words, rack, 0, limit, false);
+        }
+
+        return (words.best());
+    }
+
+    /**
+     *  Does the same as {@link #findWords(String, CharacterCounter)}
+     * but in parallel.
+     * @see #findWordsParallel(String, int, CharacterCounter)
+     * @param search the search match string
+     * @param chars  the characters to use
+     * @return all results of the matching
+     */
+    public List<SearchResult> findWordsParallel(String search, CharacterCounter chars) {
+        return (findWordsParallel(search, NO_LIMIT, chars));
+    }
+
+    /**
+     *  Does the same as {@link #findWords(String, int, CharacterCounter)}
+     * but in parallel. The search from each start position is a task on
+     * the {@link ForkJoinPool#commonPool()}, which is split again into a
+     * task for each character that can be placed at its first wildcard.
+     * Each task has its own copy of the characters and its own results,
+     * the results are only merged once all tasks are done. The given
+     * characters are not changed.
+     * @param search the search match string
+     * @param limit  the max number of characters to use from the given characters
+     * @param chars  the characters to use
+     * @return all results of the matching
+     */
+    public List<SearchResult> findWordsParallel(String search, int limit, CharacterCounter chars) {
+        if (chars == null || chars.remaining() == 0) {
+            return (new ArrayList<>());
+        }
+
+        search = search.toUpperCase();
+
+        for (int i = 0; i < search.length(); ++i) {
+            char c = search.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD || c == NULLABLE_WILD_CARD))
+                return (null);
+        }
+
+        for (Character c : chars) {
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        int len = -1;
+        for (int i=0; i<search.length(); ++i) {
+            if (search.charAt(i) != NULLABLE_WILD_CARD) {
+                len = i;
+                break;
+            }
+        }
+
+        List<Find> starts = new ArrayList<>();
+        for (int i=0; i<=len; ++i) {
+            starts.add(new Find(root, search, i, i, rack(chars), 0, limit, false, PARALLEL_SPLITS));
+        }
+
+        for (Find find : starts) {
+            ForkJoinPool.commonPool().execute(find);
+        }
+
+        rank();
+        Results words = new Results(seen(), 0, len + 1, count);
+        for (Find find : starts) {
+            words.addAll(find.join());
+        }
+
+        List<SearchResult> ret = words.sorted();
+        release(words.seen);
+
+        return (ret);
+    }
+
     /**
      *  The meat of the {@link #findWords(String, char[])},
      * {@link #findWords(String, int, char[])},
@@ -728,14 +1548,15 @@ public final class Trie {
      *               found in this call start in the search string
      * @param pos     the current position considered in the search string
      * @param words   the words that have been found so far
-     * @param chars   the characters that can be used
+     * @param rack    the count of each character that can be used, see {@link #rack(CharacterCounter)},
+     *                changed while searching but the same once done
      * @param used    the number of characters used so far
      * @param limit   the max number of characters that can be used
      * @param addable if the current call of this search can add words to the results
      */
-    private void findWords(Node n, String search, int start, int pos, Queue<SearchResult> words, CharacterCounter chars, int used, int limit, boolean addable) {
-        /** If the node is null then no words exist at this point **/
-        if (n != null) {
+    private void findWords(Node n, String search, int start, int pos, Queue<SearchResult> words, int[] rack, int used, int limit, boolean addable) {
+        /** If the node is null then no words exist at this point, or none good enough **/
+        if (n != null && n.best >= floor(words, (r) -> r.score)) {
 
             /** If the search has reached it's terminating point in the search string **/
             if (search.length() == pos) {
@@ -765,32 +1586,589 @@ public final class Trie {
                     case SINGLE_WILD_CARD :
                         /** If the character limit has not been reached **/
                         if (used != limit) {
-                            /** Look at each possible character **/
-                            chars.forEach((c_next) ->
-                                    /** Reduce by that character and continue the search **/
-                                    chars.actionWithReducedChar(c_next, () -> {
-                                        if (c_next == SINGLE_WILD_CARD) {
-                                            /** Do for all characters 'A' to 'Z' **/
-                                            for (Character next_node : n.children.keySet()) {
-                                                findWords(n.child(next_node), search, start, pos + 1, words, chars, used + 1, limit, addable);
-                                            }
-                                        } else {
-                                            /** continue the search with the given character **/
-                                            findWords(n.child(c_next), search, start, pos + 1, words, chars, used + 1, limit, addable);
-                                        }
-                                    })
-                            );
+                            /** Look at each child with its character available,
+                             reduce by that character and continue the search **/
+                            for (Node child : n.children) {
+                                int i = child.character - 'A';
+                                if (rack[i] > 0) {
+                                    --rack[i];
+                                    findWords(child, search, start, pos + 1, words, rack, used + 1, limit, addable);
+                                    ++rack[i];
+                                }
+                            }
+
+                            /** Do for all characters 'A' to 'Z' with a wild card **/
+                            if (rack[ALPHABET] > 0) {
+                                --rack[ALPHABET];
+                                for (Node child : n.children) {
+                                    findWords(child, search, start, pos + 1, words, rack, used + 1, limit, addable);
+                                }
+                                ++rack[ALPHABET];
+                            }
                         }
 
                         break;
 
                     default :
                         /** just do the search on the next node to continue the search **/
-                        findWords(n.child(c), search, start, pos + 1, words, chars, used, limit, true);
+                        findWords(n.child(c), search, start, pos + 1, words, rack, used, limit, true);
+
+                }
+            }
+        }
+    }
+
+    /**
+     *  Runs many searches at once, each the same as {@link #findWords(String, int, CharacterCounter)}.
+     * The Trie is walked once for all of them, each node carrying the
+     * searches (and their start positions) still alive at it, so the
+     * levels near the root that every search goes through are walked a
+     * single time rather than once per search.
+     * @param queries the searches to run
+     * @return the results of each search, in the same order as the
+     * searches, null for a search with characters that are not allowed
+     */
+    public List<List<SearchResult>> findWords(List<Query> queries) {
+        rank();
+        List<Results> found = results(queries);
+        List<Live> live = starts(queries);
+
+        if (!live.isEmpty())
+            findWords(root, live, queries, found);
+
+        List<List<SearchResult>> ret = drain(found);
+        release(found);
+        return (ret);
+    }
+
+    /**
+     *  Runs many searches at once on the given executor, see {@link #findWords(List)}.
+     * The walk below each child of the root is its own task, the results
+     * of the tasks are merged once all are done.
+     * @param queries  the searches to run
+     * @param executor the executor to run the tasks on
+     * @return the results of each search, in the same order as the
+     * searches, null for a search with characters that are not allowed
+     */
+    public List<List<SearchResult>> findWords(List<Query> queries, Executor executor) {
+        rank();
+        List<Live> live = starts(queries);
+        List<CompletableFuture<List<List<SearchResult>>>> tasks = new ArrayList<>();
+
+        for (Node child : root.children) {
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                List<Results> found = results(queries);
+                List<Live> next = advance(live, child, queries);
+                if (next != null)
+                    findWords(child, next, queries, found);
+
+                /** The words below different children differ, only sorted once merged **/
+                List<List<SearchResult>> part = new ArrayList<>(found.size());
+                for (Results words : found)
+                    part.add(words == null ? null : words.drain());
+                release(found);
+                return (part);
+            }, executor));
+        }
+
+        List<List<SearchResult>> ret = new ArrayList<>(queries.size());
+        for (Query query : queries)
+            ret.add(query.valid ? new ArrayList<>() : null);
+
+        for (CompletableFuture<List<List<SearchResult>>> task : tasks) {
+            List<List<SearchResult>> part = task.join();
+            for (int i=0; i<ret.size(); ++i) {
+                if (ret.get(i) != null)
+                    ret.get(i).addAll(part.get(i));
+            }
+        }
+
+        for (List<SearchResult> results : ret) {
+            if (results != null)
+                results.sort(SearchResult::compareByRank);
+        }
+        return (ret);
+    }
+
+    /**
+     *  Does the actual work of {@link #findWords(List)}, the same as
+     * {@link #findWords(Node, String, int, int, Queue, int[], int, int, boolean)}
+     * for each of the live searches at once.
+     * @param n       the current node of the search
+     * @param live    the searches still alive at the node
+     * @param queries the searches being run
+     * @param found   the results found so far, for each search
+     */
+    private void findWords(Node n, List<Live> live, List<Query> queries, List<Results> found) {
+        if (n.word) {
+            for (Live l : live) {
+                String search = queries.get(l.query).search;
+                if (l.addable && (l.pos == search.length() || search.charAt(l.pos) == NULLABLE_WILD_CARD))
+                    found.get(l.query).add(new SearchResult(n, l.start));
+            }
+        }
+
+        for (Node child : n.children) {
+            List<Live> next = advance(live, child, queries);
+            if (next != null)
+                findWords(child, next, queries, found);
+        }
+    }
+
+    /**
+     *  Moves the live searches to a child, a character is always used
+     * before a wild card that could be used in its place.
+     * @param live    the searches alive at the parent
+     * @param child   the child to move to
+     * @param queries the searches being run
+     * @return the searches alive at the child, null if none
+     */
+    private static List<Live> advance(List<Live> live, Node child, List<Query> queries) {
+        List<Live> next = null;
+        int i = child.character - 'A';
+
+        for (Live l : live) {
+            Query q = queries.get(l.query);
+            if (l.pos == q.search.length())
+                continue;
+
+            char c = q.search.charAt(l.pos);
+            Live step = null;
+
+            if (c == child.character) {
+                step = new Live(l.query, l.start, l.pos + 1, l.rack, l.used, true);
+            } else if ((c == SINGLE_WILD_CARD || c == NULLABLE_WILD_CARD) && l.used != q.limit) {
+                int[] rack = reduced(l.rack, child.character);
+                if (rack != null)
+                    step = new Live(l.query, l.start, l.pos + 1, rack, l.used + 1, l.addable);
+            }
+
+            if (step != null) {
+                if (next == null)
+                    next = new ArrayList<>();
+                next.add(step);
+            }
+        }
+        return (next);
+    }
+
+    /**
+     * @param queries the searches being run
+     * @return the searches at the root, each start position of each search
+     */
+    private static List<Live> starts(List<Query> queries) {
+        List<Live> live = new ArrayList<>();
+        for (int q=0; q<queries.size(); ++q) {
+            Query query = queries.get(q);
+            if (query.rack == null)
+                continue;
+            for (int i=0; i<=query.last; ++i)
+                live.add(new Live(q, i, i, query.rack, 0, false));
+        }
+        return (live);
+    }
 
+    /**
+     *  Makes the results of each search, all marking the words they find
+     * in the set of bits kept for this thread, each search in its own part
+     * of it. The bits of a set are numbered by ints, so a search that would
+     * go past the end of one starts the next, which only a batch of
+     * searches with more starts times words than that ever needs.
+     * @param queries the searches being run
+     * @return empty results for each search, null for those not allowed
+     */
+    private List<Results> results(List<Query> queries) {
+        List<Results> found = new ArrayList<>(queries.size());
+        BitSet seen = seen();
+        long base = 0;
+        for (Query query : queries) {
+            if (query.valid) {
+                long bits = (long) (query.last + 1) * count;
+                if (base > 0 && base + bits > Integer.MAX_VALUE) {
+                    seen = new BitSet();
+                    base = 0;
                 }
+                found.add(new Results(seen, (int) base, query.last + 1, count));
+                base += bits;
+            } else {
+                found.add(null);
+            }
+        }
+        return (found);
+    }
+
+    /**
+     *  Keeps the set of bits of the results, once drained, for the next search.
+     * @param found the drained results of each search, null for those not allowed
+     */
+    private static void release(List<Results> found) {
+        for (Results words : found) {
+            if (words != null) {
+                release(words.seen);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param found the results found, for each search
+     * @return the results of each search, ordered by score
+     */
+    private static List<List<SearchResult>> drain(List<Results> found) {
+        List<List<SearchResult>> ret = new ArrayList<>(found.size());
+        for (Results words : found)
+            ret.add(words == null ? null : words.sorted());
+        return (ret);
+    }
+
+    /**
+     *  The score an element must be above to be kept by the given queue.
+     * @param words the queue the elements are added to
+     * @param score the score of an element
+     * @param <E>   the type of element
+     * @return the score of the worst kept if the queue is a full bounded
+     * {@link PriorityQueueTreeSet}, otherwise the lowest score
+     */
+    private static <E> int floor(Queue<E> words, ToIntFunction<E> score) {
+        if (words instanceof PriorityQueueTreeSet) {
+            PriorityQueueTreeSet<E> top = (PriorityQueueTreeSet<E>) words;
+            if (top.capacity() == 0)
+                return (Integer.MAX_VALUE);
+            if (top.isFull())
+                return (score.applyAsInt(top.peek()));
+        }
+        return (Integer.MIN_VALUE);
+    }
+
+    /**
+     * @return a cleared set of bits, the one kept for this thread if it is free
+     */
+    private static BitSet seen() {
+        BitSet seen = SEEN.get();
+        if (seen == null)
+            return (new BitSet());
+        SEEN.set(null);
+        return (seen);
+    }
+
+    /**
+     *  Keeps a set of bits for the next search on this thread, unless it
+     * has grown past {@link #SEEN_KEPT} bits. A set does not shrink once
+     * grown, so a single search over a large dictionary would otherwise
+     * leave the thread holding its bits for good.
+     * @param seen a set of bits with every bit cleared
+     */
+    private static void release(BitSet seen) {
+        if (seen.size() <= SEEN_KEPT && SEEN.get() == null)
+            SEEN.set(seen);
+    }
+
+    /**
+     *  Streams the results of {@link #findWords(String, int, CharacterCounter)},
+     * found one at a time as the stream is used, all results from the
+     * first start position before those of the next. Each result is only
+     * found once, a character is always used before a wild card that
+     * could be used in its place.
+     * @param search the search match string
+     * @param limit  the max number of characters to use from the given characters
+     * @param chars  the characters to use, not changed
+     * @return the results of the matching in a stream, null if the search
+     * or characters have characters that are not allowed
+     */
+    public Stream<SearchResult> streamWords(String search, int limit, CharacterCounter chars) {
+        if (chars == null || chars.remaining() == 0) {
+            return (Stream.empty());
+        }
+
+        String pattern = search.toUpperCase();
+
+        for (int i = 0; i < pattern.length(); ++i) {
+            char c = pattern.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD || c == NULLABLE_WILD_CARD))
+                return (null);
+        }
+
+        for (Character c : chars) {
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        int len = -1;
+        for (int i=0; i<pattern.length(); ++i) {
+            if (pattern.charAt(i) != NULLABLE_WILD_CARD) {
+                len = i;
+                break;
             }
         }
+
+        Walk<SearchResult> walk = new Walk<SearchResult>() {
+            @Override
+            SearchResult visit(Frame f) {
+                Node n = f.n;
+                if (pattern.length() == f.pos) {
+                    return ((f.addable && n.word) ? new SearchResult(n, f.start) : null);
+                }
+
+                char c = pattern.charAt(f.pos);
+                if (c != SINGLE_WILD_CARD && c != NULLABLE_WILD_CARD) {
+                    Node child = n.child(c);
+                    if (child != null) {
+                        Frame next = new Frame(child, f);
+                        next.pos = f.pos + 1;
+                        next.addable = true;
+                        push(next);
+                    }
+                    return (null);
+                }
+
+                if (f.used != limit) {
+                    for (int i=n.children.length - 1; i>=0; --i) {
+                        int[] rack = reduced(f.rack, n.children[i].character);
+                        if (rack != null) {
+                            Frame next = new Frame(n.children[i], f);
+                            next.pos = f.pos + 1;
+                            next.rack = rack;
+                            next.used = f.used + 1;
+                            push(next);
+                        }
+                    }
+                }
+                return ((c == NULLABLE_WILD_CARD && f.addable && n.word) ? new SearchResult(n, f.start) : null);
+            }
+        };
+
+        int[] rack = rack(chars);
+        for (int i=len; i>=0; --i) {
+            Frame start = new Frame(root);
+            start.start = i;
+            start.pos = i;
+            start.rack = rack;
+            walk.push(start);
+        }
+        return (walk.stream());
+    }
+
+    /**
+     *  Gives a new word the next id and adds its letters to the end.
+     * @param n    the node of the word
+     * @param word the word
+     */
+    private void number(Node n, String word) {
+        if (count == byId.length) {
+            byId = Arrays.copyOf(byId, count * 2);
+            offsets = Arrays.copyOf(offsets, count * 2 + 1);
+        }
+
+        int at = offsets[count];
+        if (at + word.length() > letters.length)
+            letters = Arrays.copyOf(letters, Math.max(letters.length * 2, at + word.length()));
+
+        for (int i=0; i<word.length(); ++i)
+            letters[at + i] = (byte) word.charAt(i);
+
+        offsets[count + 1] = at + word.length();
+        n.id = count;
+        byId[count++] = n;
+        unranked = true;
+    }
+
+    /**
+     *  Gives every word at or below a node an id, in alphabetical order.
+     * @param n    the node to number the words from
+     * @param path the characters leading to the node
+     */
+    private void number(Node n, StringBuilder path) {
+        if (n.word)
+            number(n, path.toString());
+
+        for (Node child : n.children) {
+            path.append(child.character);
+            number(child, path);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    /**
+     *  Gets the word with the given id, read from the packed letters
+     * of all the words rather than built from the nodes.
+     * @throws IndexOutOfBoundsException if no word has the id
+     * @param id the id of the word
+     * @return the word
+     */
+    public String word(int id) {
+        if (id < 0 || id >= count)
+            throw new IndexOutOfBoundsException("No word with id " + id);
+        return (new String(letters, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     *  Compares two words by their letters, without making strings.
+     * @param a the id of the first word
+     * @param b the id of the second word
+     * @return negative if a < b, zero if a == b, positive if a > b
+     */
+    private int compareIds(int a, int b) {
+        return (Arrays.compare(letters, offsets[a], offsets[a + 1], letters, offsets[b], offsets[b + 1]));
+    }
+
+    /**
+     *  Gives every word its place in alphabetical order, if a word was
+     * added since they were last given. Ids follow the order words were
+     * added, so searches sort on the places instead, as plain ints, and
+     * call this first. Adding a word moves the places of those after it,
+     * so they are all given again in one walk at the next search rather
+     * than on every add.
+     */
+    private void rank() {
+        if (!unranked)
+            return;
+
+        synchronized (this) {
+            if (unranked) {
+                int[] ids = new int[count];
+                rank(root, ids, 0);
+                byRank = ids;
+                unranked = false;
+            }
+        }
+    }
+
+    /**
+     *  Does the actual work of {@link #rank()}, walking the children in
+     * alphabetical order.
+     * @param n    the node to give the places of the words at and below
+     * @param ids  the id of each word by its place, filled in
+     * @param next the next place to give
+     * @return the place after the last given
+     */
+    private static int rank(Node n, int[] ids, int next) {
+        if (n.word) {
+            n.rank = next;
+            ids[next++] = n.id;
+        }
+        for (Node child : n.children)
+            next = rank(child, ids, next);
+        return (next);
+    }
+
+    /**
+     *  Gets the id of the given word.
+     * @param word the word to find the id of
+     * @return the id of the word, -1 if not contained by the Trie
+     */
+    public int id(String word) {
+        Node get = root;
+        word = word.toUpperCase();
+
+        for (int i=0; i<word.length() && get != null; ++i)
+            get = get.child(word.charAt(i));
+
+        return ((get != null && get.word) ? get.id : -1);
+    }
+
+    /**
+     * @return the ids of all of the words, 0 up to the number of words
+     */
+    public IntStream ids() {
+        return (IntStream.range(0, count));
+    }
+
+    /**
+     * @param ids the ids of words
+     * @return the words, in the same order
+     */
+    public List<String> words(int[] ids) {
+        List<String> ret = new ArrayList<>(ids.length);
+        for (int id : ids)
+            ret.add(word(id));
+        return (ret);
+    }
+
+    /**
+     * @param n a node that is a word
+     * @return the word of the node
+     */
+    private String text(Node n) {
+        return (word(n.id));
+    }
+
+    /**
+     *  Orders the ids of the found words to highest score, each once.
+     * The score and alphabetical place of each word are packed into a
+     * long so that sorting and removing repeats is done on plain numbers.
+     * @param words the nodes of the words found, may repeat
+     * @return the ids of the words, highest score first then alphabetically
+     */
+    private int[] ranked(Collection<Node> words) {
+        rank();
+
+        long[] keys = new long[words.size()];
+        int size = 0;
+        for (Node n : words)
+            keys[size++] = ((long) (Integer.MAX_VALUE - n.score) << Integer.SIZE) | n.rank;
+        Arrays.sort(keys);
+
+        int[] ids = new int[size];
+        int unique = 0;
+        for (int i=0; i<size; ++i) {
+            if (i == 0 || keys[i] != keys[i - 1])
+                ids[unique++] = byRank[(int) keys[i]];
+        }
+        return (unique == size ? ids : Arrays.copyOf(ids, unique));
+    }
+
+    /**
+     *  Counts the characters as an array, the count of 'A' + i at
+     * index i and the count of {@link #SINGLE_WILD_CARD} at the end.
+     * Other characters are left out.
+     * @param chars the characters to count
+     * @return the counts of the characters
+     */
+    static int[] rack(CharacterCounter chars) {
+        int[] rack = new int[ALPHABET + 1];
+        for (char c : chars.toList()) {
+            if (isUpperAlpha(c))
+                ++rack[c - 'A'];
+            else if (c == SINGLE_WILD_CARD)
+                ++rack[ALPHABET];
+        }
+        return (rack);
+    }
+
+    /**
+     *  Writes out counted characters in alphabetical order, with the
+     * {@link #SINGLE_WILD_CARD} last, so that any two racks of the same
+     * characters give the same string.
+     * @param rack the counts of the characters
+     * @return the characters as a sorted string
+     */
+    private static String key(int[] rack) {
+        StringBuilder key = new StringBuilder();
+        for (int i=0; i<=ALPHABET; ++i) {
+            for (int j=0; j<rack[i]; ++j)
+                key.append(i == ALPHABET ? SINGLE_WILD_CARD : (char) ('A' + i));
+        }
+        return (key.toString());
+    }
+
+    /**
+     *  Uses a character from the counts, a wild card is used only if
+     * the character itself has run out.
+     * @param rack the counts of the characters, not changed
+     * @param c    the character to use
+     * @return a copy of the counts with the character used, null if it
+     * cannot be used
+     */
+    private static int[] reduced(int[] rack, char c) {
+        int i = c - 'A';
+        if (rack[i] == 0) {
+            if (rack[ALPHABET] == 0)
+                return (null);
+            i = ALPHABET;
+        }
+        int[] copy = rack.clone();
+        --copy[i];
+        return (copy);
     }
 
     /**
@@ -808,14 +2186,32 @@ public final class Trie {
         /** True if the current node represents the end of a word, false otherwise **/
         private boolean word;
 
+        /** The highest score of the words at or below the current node, -1 if there are none **/
+        private int best;
+
+        /** The id of the word at the current node, -1 if not a word **/
+        private int id = -1;
+
+        /** The place of the word at the current node in alphabetical order, -1 if not given, see {@link Trie#rank()} **/
+        private int rank = -1;
+
+        /** The ids of the best words at or below the current node, see {@link Trie#indexCompletions(int)} **/
+        private int[] completions = null;
+
         /** The character that the node represents **/
         private final char character;
 
         /** The parent node of the current node **/
         private final Node parent;
 
-        /** The children nodes of the current node **/
-        private final Map<Character, Node> children;
+        /** Shared by all nodes without children **/
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /** Bit i is set if the node has a child representing the character 'A' + i **/
+        private int mask;
+
+        /** The children nodes of the current node, packed in alphabetical order, one per bit set in the mask **/
+        private Node[] children;
 
         /**
          *   Initializes the root node, only should be
@@ -823,10 +2219,12 @@ public final class Trie {
          */
         private Node() {
             this.score = 0;
+            this.best = -1;
             this.character = '\0';
             this.word = false;
             this.parent = null;
-            this.children = new TreeMap<>();
+            this.mask = 0;
+            this.children = NO_CHILDREN;
         }
 
         /**
@@ -836,9 +2234,11 @@ public final class Trie {
          */
         public Node(char character, Node parent) {
             this.word = false;
+            this.best = -1;
             this.character = character;
             this.parent = parent;
-            this.children = new TreeMap<>();
+            this.mask = 0;
+            this.children = NO_CHILDREN;
             this.score = charScore(character) + parent.score;
         }
 
@@ -850,30 +2250,63 @@ public final class Trie {
          * @return the child node representing that character
          */
         public Node add(char c) {
-            Node ret = children.get(c);
+            int bit = 1 << (c - 'A');
+            int index = Integer.bitCount(mask & (bit - 1));
 
-            if (ret == null) {
-                ret = new Node(c, this);
-                children.put(c, ret);
-            }
+            if ((mask & bit) != 0)
+                return (children[index]);
 
+            /** Grows the packed children by one, keeping alphabetical order **/
+            Node ret = new Node(c, this);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, index);
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            grown[index] = ret;
+
+            children = grown;
+            mask |= bit;
             return (ret);
         }
 
+        /**
+         *  Raises the best score of this node and the nodes above it, up to
+         * the given node, to the score of the word at this node.
+         * @param top the last node to raise
+         */
+        private void raise(Node top) {
+            raise(top, score);
+        }
+
+        /**
+         *  Raises the best score of this node and the nodes above it, up to
+         * the given node, to the given score. Stops early once a node already
+         * has a better score, as all nodes above it will as well.
+         * @param top   the last node to raise
+         * @param score the score of a word at or below this node
+         */
+        private void raise(Node top, int score) {
+            for (Node n = this; n != null && n.best < score; n = n.parent) {
+                n.best = score;
+                if (n == top)
+                    break;
+            }
+        }
+
         /**
          *  Builds the string that the path from the root to the current node represents.
          * @return the string represented by the path from the root to the current node
          */
         public String build() {
-            StringBuilder s = new StringBuilder("");
-            Node curr = this;
+            int depth = 0;
+            for (Node curr = this; curr != null && curr.character != 0; curr = curr.parent)
+                ++depth;
 
-            while (curr != null && curr.character != 0) {
-                s.insert(0, curr.character);
-                curr = curr.parent;
-            }
+            /** Filled from the end as the path is walked from the node up **/
+            char[] s = new char[depth];
+            for (Node curr = this; depth > 0; curr = curr.parent)
+                s[--depth] = curr.character;
 
-            return (s.toString());
+            return (new String(s));
         }
 
         /**
@@ -882,7 +2315,13 @@ public final class Trie {
          * @return the child node of the given character *or null if does not exist*
          */
         public Node child(char c) {
-            return (children.get(c));
+            int i = c - 'A';
+
+            if (i < 0 || i >= ALPHABET)
+                return (null);
+
+            int bit = 1 << i;
+            return ((mask & bit) == 0 ? null : children[Integer.bitCount(mask & (bit - 1))]);
         }
 
         /**
@@ -897,27 +2336,55 @@ public final class Trie {
         }
 
         /**
-         *  Compares the words represented at the node. Like comparing two strings.
+         *  Compares the words represented at the node. Like comparing two strings,
+         * a word comes after the words it starts with. Words compare by their
+         * places in alphabetical order, given by the Trie before each search.
+         * Other nodes are walked up to the same depth, then up together to the
+         * first characters that differ.
          * @param a the first node to compare
          * @param b the second node to compare
          * @return negative if a < b, zero if a == b, positive if a > b
          */
         public static int compareWord(Node a, Node b) {
-            boolean a_null = (a == null);
-            boolean b_null = (b == null);
-
-            if (a_null && b_null) {
+            if (a == b) {
                 return (0);
-            } else if (a_null) {
+            } else if (a == null) {
                 return (1);
-            } else if (b_null) {
+            } else if (b == null) {
                 return (-1);
-            } else if (a.character == b.character) {
-                return (compareWord(a.parent, b.parent));
+            } else if (a.rank >= 0 && b.rank >= 0) {
+                return (Integer.compare(a.rank, b.rank));
+            }
+
+            int a_depth = depth(a);
+            int b_depth = depth(b);
+            int longer = Integer.compare(a_depth, b_depth);
+            for (; a_depth > b_depth; --a_depth)
+                a = a.parent;
+            for (; b_depth > a_depth; --b_depth)
+                b = b.parent;
+
+            /** One word starts with the other **/
+            if (a == b)
+                return (longer);
+            while (a.parent != b.parent) {
+                a = a.parent;
+                b = b.parent;
             }
             return (a.character - b.character);
         }
 
+        /**
+         * @param n the node
+         * @return the number of characters of the word at the node
+         */
+        private static int depth(Node n) {
+            int depth = 0;
+            for (; n.parent != null; n = n.parent)
+                ++depth;
+            return (depth);
+        }
+
         /**
          * {@inheritDoc}
          * <p>
@@ -937,7 +2404,7 @@ public final class Trie {
          */
         public int node_count() {
             int count = 1;
-            for(Node n : children.values())
+            for(Node n : children)
                 count += n.node_count();
             return (count);
         }
@@ -949,7 +2416,7 @@ public final class Trie {
          */
         public int node_depth() {
             int max = 0;
-            for(Node n : children.values()) {
+            for(Node n : children) {
                 int t = n.node_depth();
                 if (t > max)
                     max = t;
@@ -972,13 +2439,495 @@ public final class Trie {
          */
         public int word_count() {
             int count = (word ? 1 : 0);
-            for (Node n : children.values()) {
+            for (Node n : children) {
                 count += n.word_count();
             }
             return (count);
         }
     }
 
+    /**
+     *  Adds groups of words under their own nodes for {@link #build(Stream)},
+     * splitting the groups in half until a single group is left.
+     */
+    private static final class Insert extends RecursiveAction {
+
+        /** Only run as a task, never serialized **/
+        private static final long serialVersionUID = 1L;
+
+        /** The node each group is added under **/
+        private final List<Node> nodes;
+        /** The words of each group **/
+        private final List<List<String>> groups;
+        /** The first group to add **/
+        private final int from;
+        /** One past the last group to add **/
+        private final int to;
+
+        /**
+         * @param nodes  see {@link #nodes}
+         * @param groups see {@link #groups}
+         * @param from   see {@link #from}
+         * @param to     see {@link #to}
+         */
+        private Insert(List<Node> nodes, List<List<String>> groups, int from, int to) {
+            this.nodes = nodes;
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Insert(nodes, groups, from, mid), new Insert(nodes, groups, mid, to));
+            } else if (to - from == 1) {
+                Node group = nodes.get(from);
+
+                /** The first two characters are already the path to the group **/
+                for (String word : groups.get(from)) {
+                    Node add = group;
+                    for (int i=2; i<word.length(); ++i)
+                        add = add.add(word.charAt(i));
+                    add.word = true;
+                    add.raise(group);
+                }
+            }
+        }
+    }
+
+    /**
+     *  A place in a search done by a {@link Walk}, what each
+     * search keeps besides the node depends on the search.
+     */
+    private static final class Frame {
+
+        /** The node of the place **/
+        private final Node n;
+        /** The positions in a pattern the node may be at **/
+        private long states;
+        /** The characters that remain to be used **/
+        private int[] rack;
+        /** The initial position of the results **/
+        private int start;
+        /** The current position in the search string **/
+        private int pos;
+        /** The number of characters used so far **/
+        private int used;
+        /** If words can be added to the results **/
+        private boolean addable;
+
+        /**
+         * @param n the root of the search
+         */
+        private Frame(Node n) {
+            this.n = n;
+        }
+
+        /**
+         *  A place below another, keeping the same state.
+         * @param n    the node of the place
+         * @param from the place above
+         */
+        private Frame(Node n, Frame from) {
+            this.n = n;
+            this.states = from.states;
+            this.rack = from.rack;
+            this.start = from.start;
+            this.pos = from.pos;
+            this.used = from.used;
+            this.addable = from.addable;
+        }
+    }
+
+    /**
+     *   A search of the Trie that is done as its results are asked
+     * for. The places left to visit are kept on a stack instead of
+     * the call stack, visiting a place pushes the places below it
+     * and may give a result.
+     * @param <T> the type of result
+     */
+    private abstract static class Walk<T> implements Iterator<T> {
+
+        /** The places left to visit **/
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        /** The next result, null if not yet found **/
+        private T next;
+
+        /**
+         *  Visits a place, pushing the places below it to visit later.
+         * @param f the place to visit
+         * @return the result at the place, null if none
+         */
+        abstract T visit(Frame f);
+
+        /**
+         * @param f the place to visit after those pushed after it
+         */
+        final void push(Frame f) {
+            stack.push(f);
+        }
+
+        /**
+         * @return the results of the search as an ordered stream
+         */
+        final Stream<T> stream() {
+            return (StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !stack.isEmpty()) {
+                next = visit(stack.pop());
+            }
+            return (next != null);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            T t = next;
+            next = null;
+            return (t);
+        }
+    }
+
+    /**
+     *  A part of the search of {@link #findWordsParallel(String, int, CharacterCounter)},
+     * the same as a call to {@link #findWords(Node, String, int, int, Queue, int[], int, int, boolean)}
+     * that finds its results into its own list.
+     */
+    private final class Find extends RecursiveTask<List<SearchResult>> {
+
+        /** Only run as a task, never serialized **/
+        private static final long serialVersionUID = 1L;
+
+        /** The current node of the search **/
+        private final Node n;
+        /** The search string **/
+        private final String search;
+        /** The initial position of the results found **/
+        private final int start;
+        /** The current position considered in the search string **/
+        private final int pos;
+        /** The count of each character that can be used, only used by this task **/
+        private final int[] rack;
+        /** The number of characters used so far **/
+        private final int used;
+        /** The max number of characters that can be used **/
+        private final int limit;
+        /** If this part of the search can add words to the results **/
+        private final boolean addable;
+        /** The number of wildcards left to split into more tasks **/
+        private final int splits;
+
+        /**
+         * @param n       see {@link #n}
+         * @param search  see {@link #search}
+         * @param start   see {@link #start}
+         * @param pos     see {@link #pos}
+         * @param rack    see {@link #rack}
+         * @param used    see {@link #used}
+         * @param limit   see {@link #limit}
+         * @param addable see {@link #addable}
+         * @param splits  see {@link #splits}
+         */
+        private Find(Node n, String search, int start, int pos, int[] rack, int used, int limit, boolean addable, int splits) {
+            this.n = n;
+            this.search = search;
+            this.start = start;
+            this.pos = pos;
+            this.rack = rack;
+            this.used = used;
+            this.limit = limit;
+            this.addable = addable;
+            this.splits = splits;
+        }
+
+        @Override
+        protected List<SearchResult> compute() {
+            List<SearchResult> found = new ArrayList<>();
+            Node node = n;
+            int at = pos;
+            boolean add = addable;
+
+            /** Follows the set characters, they do not branch **/
+            while (node != null && at < search.length() && isUpperAlpha(search.charAt(at))) {
+                node = node.child(search.charAt(at++));
+                add = true;
+            }
+
+            if (node == null) {
+                return (found);
+            }
+
+            if (splits == 0 || at == search.length()) {
+                Queue<SearchResult> words = new ArrayDeque<>();
+                findWords(node, search, start, at, words, rack, used, limit, add);
+                found.addAll(words);
+                return (found);
+            }
+
+            if (search.charAt(at) == NULLABLE_WILD_CARD && add && node.word) {
+                found.add(new SearchResult(node, start));
+            }
+
+            if (used != limit) {
+                /** A task for each character that can be used at this wildcard **/
+                List<Find> tasks = new ArrayList<>();
+                for (Node child : node.children) {
+                    int i = child.character - 'A';
+                    if (rack[i] > 0) {
+                        tasks.add(task(child, i, at, add));
+                    }
+                }
+                if (rack[ALPHABET] > 0) {
+                    for (Node child : node.children) {
+                        tasks.add(task(child, ALPHABET, at, add));
+                    }
+                }
+
+                for (Find task : invokeAll(tasks)) {
+                    found.addAll(task.join());
+                }
+            }
+
+            return (found);
+        }
+
+        /**
+         *  Makes the task that continues the search at a child.
+         * @param child the child to continue at
+         * @param used  the index in the rack of the character used to get to the child
+         * @param at    the position of the wildcard the character is placed at
+         * @param add   if words can be added
+         * @return the task for the child
+         */
+        private Find task(Node child, int used, int at, boolean add) {
+            int[] copy = rack.clone();
+            --copy[used];
+            return (new Find(child, search, start, at + 1, copy, this.used + 1, limit, add, splits - 1));
+        }
+    }
+
+    /**
+     *   The results of a search, each word at each start kept once. A
+     * result is marked by a single bit, past the first bit of the search
+     * by its start times the number of words plus the id of its word, so
+     * checking for one already found is a bit test rather than comparing
+     * it to the others found. The results are sorted once, at the end. As
+     * a queue the last found is polled first.
+     */
+    private static final class Results extends AbstractQueue<SearchResult> {
+
+        /** The marks of the results found **/
+        private final BitSet seen;
+        /** The first bit of this search in {@link #seen}, when searches share it **/
+        private final int base;
+        /** The number of ids of words, the bits for each start **/
+        private final int stride;
+        /** The results, in the order found **/
+        private final List<SearchResult> found = new ArrayList<>();
+
+        /**
+         * @throws IllegalArgumentException if the search has too many starts for
+         * a bit of each word at each of them to be numbered by an int
+         * @param seen   see {@link #seen}, cleared where this search marks
+         * @param base   see {@link #base}
+         * @param starts the number of start positions of the search
+         * @param stride see {@link #stride}
+         */
+        private Results(BitSet seen, int base, int starts, int stride) {
+            if (base + (long) starts * stride > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Search of " + starts + " starts too long for " + stride + " words");
+            this.seen = seen;
+            this.base = base;
+            this.stride = stride;
+        }
+
+        /**
+         * @param r a result of the search
+         * @return the bit marking the result
+         */
+        private int bit(SearchResult r) {
+            return (base + r.start * stride + r.word.id);
+        }
+
+        /**
+         *  Takes the results, clearing their marks.
+         * @return the results in the order found
+         */
+        private List<SearchResult> drain() {
+            for (SearchResult r : found)
+                seen.clear(bit(r));
+            List<SearchResult> ret = new ArrayList<>(found);
+            found.clear();
+            return (ret);
+        }
+
+        /**
+         *  Takes the results, clearing their marks.
+         * @return the results, highest score first
+         */
+        private List<SearchResult> sorted() {
+            List<SearchResult> ret = drain();
+            ret.sort(SearchResult::compareByRank);
+            return (ret);
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         *     Unlike other queues, results already found give false instead of throwing.
+         * </p>
+         */
+        @Override
+        public boolean add(SearchResult r) {
+            return (offer(r));
+        }
+
+        @Override
+        public boolean offer(SearchResult r) {
+            int bit = bit(r);
+            if (seen.get(bit))
+                return (false);
+            seen.set(bit);
+            return (found.add(r));
+        }
+
+        @Override
+        public Iterator<SearchResult> iterator() {
+            return (found.iterator());
+        }
+
+        @Override
+        public SearchResult peek() {
+            return (found.isEmpty() ? null : found.get(found.size() - 1));
+        }
+
+        @Override
+        public SearchResult poll() {
+            if (found.isEmpty())
+                return (null);
+            SearchResult r = found.remove(found.size() - 1);
+            seen.clear(bit(r));
+            return (r);
+        }
+
+        @Override
+        public int size() {
+            return (found.size());
+        }
+    }
+
+    /**
+     *  One search of {@link #findWords(List)}, a search string and the
+     * characters that can be used, as given to {@link #findWords(String, int, CharacterCounter)}.
+     */
+    public static final class Query {
+
+        /** The search string, upper case **/
+        private final String search;
+        /** The max number of characters that can be used **/
+        private final int limit;
+        /** The count of each character, null if there are none or the search is not allowed **/
+        private final int[] rack;
+        /** The last position a word can start at, -1 if none **/
+        private final int last;
+        /** If the search string and the characters are allowed **/
+        private final boolean valid;
+
+        /**
+         *  Sets up a search with no limit on the characters used.
+         * @param search the search match string
+         * @param chars  the characters to use
+         */
+        public Query(String search, char[] chars) {
+            this(search, NO_LIMIT, new CharacterCounter(chars));
+        }
+
+        /**
+         *  Sets up a search.
+         * @param search the search match string
+         * @param limit  the max number of characters to use from the given characters
+         * @param chars  the characters to use, not changed
+         */
+        public Query(String search, int limit, CharacterCounter chars) {
+            this.search = search.toUpperCase();
+            this.limit = limit;
+
+            boolean valid = true;
+            for (int i=0; i<this.search.length(); ++i) {
+                char c = this.search.charAt(i);
+                if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD || c == NULLABLE_WILD_CARD))
+                    valid = false;
+            }
+            if (chars != null) {
+                for (Character c : chars) {
+                    if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                        valid = false;
+                }
+            }
+
+            int last = -1;
+            for (int i=0; i<this.search.length(); ++i) {
+                if (this.search.charAt(i) != NULLABLE_WILD_CARD) {
+                    last = i;
+                    break;
+                }
+            }
+
+            boolean empty = (chars == null || chars.remaining() == 0);
+            this.valid = valid || empty;
+            this.rack = (valid && !empty) ? rack(chars) : null;
+            this.last = last;
+        }
+
+        @Override
+        public String toString() {
+            return (search + (rack == null ? "" : " " + key(rack)));
+        }
+    }
+
+    /**
+     *  A search of {@link #findWords(List)} alive at a node, along with
+     * where it started and what it has used.
+     */
+    private static final class Live {
+
+        /** The index of the search **/
+        private final int query;
+        /** Where the words found start in the search string **/
+        private final int start;
+        /** The next position in the search string **/
+        private final int pos;
+        /** The count of each character left, shared until one is used **/
+        private final int[] rack;
+        /** The number of characters used **/
+        private final int used;
+        /** If a letter of the search string has been gone through **/
+        private final boolean addable;
+
+        /**
+         * @param query   see {@link #query}
+         * @param start   see {@link #start}
+         * @param pos     see {@link #pos}
+         * @param rack    see {@link #rack}
+         * @param used    see {@link #used}
+         * @param addable see {@link #addable}
+         */
+        private Live(int query, int start, int pos, int[] rack, int used, boolean addable) {
+            this.query = query;
+            this.start = start;
+            this.pos = pos;
+            this.rack = rack;
+            this.used = used;
+            this.addable = addable;
+        }
+    }
+
     /**
      * Meant to help find the location of a word in the string to place it in a move.
      */
@@ -986,8 +2935,12 @@ public final class Trie {
 
         /** Where the result starts in the search string. **/
         private final int start;
-        /** The node that represent the word found. **/
+        /** The node that represent the word found, null if not found in a Trie. **/
         private final Node word;
+        /** The word found, null if found in a Trie. **/
+        private final String text;
+        /** The score of the word found. **/
+        private final int score;
 
         /**
          *  Sets up the search result.
@@ -996,6 +2949,22 @@ public final class Trie {
          */
         public SearchResult(Node word, int start) {
             this.word = word;
+            this.text = null;
+            this.score = word.score;
+            this.start = start;
+        }
+
+        /**
+         *  Sets up the search result for a word found outside of a Trie,
+         * i.e. in a {@link WordGraph}.
+         * @param text  see {@link #text}
+         * @param score see {@link #score}
+         * @param start see {@link #start}
+         */
+        SearchResult(String text, int score, int start) {
+            this.word = null;
+            this.text = text;
+            this.score = score;
             this.start = start;
         }
 
@@ -1006,7 +2975,7 @@ public final class Trie {
          * @return a < b then -1, a == b then 0, a > b then 1
          */
         public static int compareByScore(SearchResult a, SearchResult b) {
-            int result = Node.compareScore(a.word, b.word);
+            int result = b.score - a.score;
             return ((result == 0) ? (a.start - b.start) : result);
         }
 
@@ -1017,10 +2986,22 @@ public final class Trie {
          * @return a < b then -1, a == b then 0, a > b then 1
          */
         public static int compareByWord(SearchResult a, SearchResult b) {
-            int result = Node.compareWord(a.word, b.word);
+            int result = (a.word != null && b.word != null) ? Node.compareWord(a.word, b.word) : a.getWord().compareTo(b.getWord());
             return ((result == 0) ? (a.start - b.start) : result);
         }
 
+        /**
+         *  Compares in the order results are given by every search, the
+         * highest score first then by start and alphabetically.
+         * @param a the first result to compare
+         * @param b the second result to compare
+         * @return a < b then -1, a == b then 0, a > b then 1
+         */
+        public static int compareByRank(SearchResult a, SearchResult b) {
+            int result = compareByScore(a, b);
+            return ((result == 0) ? compareByWord(a, b) : result);
+        }
+
         /**
          * @return the position that the result word starts in the search string
          */
@@ -1032,7 +3013,7 @@ public final class Trie {
          * @return the word stored by this result
          */
         public String getWord() {
-            return (word.build());
+            return ((word != null) ? word.build() : text);
         }
 
         @Override
@@ -1042,7 +3023,7 @@ public final class Trie {
 
         @Override
         public String toString() {
-            return (start + " " + word.build());
+            return (start + " " + getWord());
         }
     }
 }
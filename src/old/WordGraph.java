@@ -0,0 +1,448 @@
+package old;
+
+import java.util.*;
+
+import static old.Trie.*;
+
+/**
+ * <p>
+ * === Word Graph ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A read-only graph of words over the upper case Latin
+ * alphabet, the frozen counterpart of the {@link Trie}.
+ * Nodes are plain integer handles so that the layout is
+ * left to the subclass, the graph may share nodes between
+ * words (i.e. suffixes) as nodes do not know their parent
+ * or their score. Both are carried along the path by the
+ * searches instead.
+ * </p><p>
+ *  The searches match those of the {@link Trie}, using the
+ * same wildcards and giving the same results.
+ * </p>
+ */@SuppressWarnings("unused")
+public abstract class WordGraph {
+
+    /** Value given by {@link #child(int, int)} when no such child exists **/
+    static final int NONE = -1;
+
+    /** Only subclasses in this package describe the layout **/
+    WordGraph() {}
+
+    /**
+     * @return the node all words start from
+     */
+    abstract int root();
+
+    /**
+     *  The children of a node, bit i is set if the node has a child
+     * for the character 'A' + i.
+     * @param node the node to get the children of
+     * @return the mask of the children of the node
+     */
+    abstract int mask(int node);
+
+    /**
+     * @param node the node to check
+     * @return true if the path to the node spells a word
+     */
+    abstract boolean word(int node);
+
+    /**
+     *  Gets the child of a node.
+     * @param node   the node to get the child of
+     * @param letter the character of the child, 0 for 'A' to 25 for 'Z'
+     * @return the child node or {@link #NONE} if it does not exist
+     */
+    abstract int child(int node, int letter);
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    public abstract int size();
+
+    /**
+     *  Gets the child of a node for a character.
+     * @param node the node to get the child of
+     * @param c    the character of the child
+     * @return the child node or {@link #NONE} if it does not exist
+     */
+    private int child(int node, char c) {
+        int letter = c - 'A';
+        return ((letter < 0 || letter >= ALPHABET) ? NONE : child(node, letter));
+    }
+
+    /**
+     *  See if the specified word is contained in the graph.
+     * @param word the word to check
+     * @return if the word is contained in the graph
+     */
+    public boolean contains(String word) {
+        word = word.toUpperCase();
+
+        int get = root();
+
+        for (int i=0; i<word.length(); ++i) {
+            get = child(get, word.charAt(i));
+            if (get == NONE)
+                return (false);
+        }
+
+        return (word(get));
+    }
+
+    /**
+     * @return the words stored in a list
+     */
+    public List<String> toList() {
+        List<String> found = new ArrayList<>();
+        toList(found, root(), new StringBuilder());
+        return (found);
+    }
+
+    /**
+     * The meat of the {@link #toList()} method.
+     * @param found the words found
+     * @param n     the current node in the exploration
+     * @param path  the characters leading to the current node
+     */
+    private void toList(List<String> found, int n, StringBuilder path) {
+        if (word(n)) {
+            found.add(path.toString());
+        }
+
+        for (int m = mask(n); m != 0; m &= m - 1) {
+            int letter = Integer.numberOfTrailingZeros(m);
+            path.append((char) ('A' + letter));
+            toList(found, child(n, letter), path);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    /**
+     *  Finds the total number of words stored in the graph.
+     * @return The number of words in the graph
+     */
+    public int words() {
+        return (words(root()));
+    }
+
+    /**
+     * @param n the node to count the words from
+     * @return the number of words reachable from the node
+     */
+    private int words(int n) {
+        int count = (word(n) ? 1 : 0);
+        for (int m = mask(n); m != 0; m &= m - 1) {
+            count += words(child(n, Integer.numberOfTrailingZeros(m)));
+        }
+        return (count);
+    }
+
+    /**
+     *  Gets the words that can be created with the given characters.
+     * @see Trie#wordsFromCharacters(String)
+     * @param chars the characters to find words built from
+     * @return the list of words sorted to highest Scrabble score
+     */
+    public List<String> wordsFromCharacters(String chars) {
+        chars = chars.toUpperCase();
+
+        for (int i=0; i<chars.length(); ++i) {
+            char c = chars.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        return (wordsFromCharacters(new CharacterCounter(chars)));
+    }
+
+    /**
+     *  Gets the words that can be created with the given characters.
+     * @see Trie#wordsFromCharacters(CharacterCounter)
+     * @param chars the characters to use to build the words
+     * @return the words found, each once
+     */
+    public List<String> wordsFromCharacters(CharacterCounter chars) {
+        /** A word made more than once, through wild cards, is kept once **/
+        Queue<SearchResult> words = new PriorityQueueTreeSet<>(SearchResult::compareByRank, SearchResult::compareByWord);
+
+        wordsFromCharacters(root(), new StringBuilder(), 0, rack(chars), words);
+
+        return (drain(words));
+    }
+
+    /**
+     *  Recursive function that performs the required action of {@link #wordsFromCharacters(CharacterCounter)}.
+     * @param n     the current node to be considered
+     * @param path  the characters leading to the current node
+     * @param score the score of the characters leading to the current node
+     * @param rack  the count of each character that remains to be used, see {@link Trie#rack(CharacterCounter)}
+     * @param words the words that have been found
+     */
+    private void wordsFromCharacters(int n, StringBuilder path, int score, int[] rack, Queue<SearchResult> words) {
+        if (word(n)) {
+            words.add(new SearchResult(path.toString(), score, 0));
+        }
+
+        int mask = mask(n);
+
+        for (int m = mask; m != 0; m &= m - 1) {
+            int letter = Integer.numberOfTrailingZeros(m);
+            if (rack[letter] > 0) {
+                char next = (char) ('A' + letter);
+                --rack[letter];
+                path.append(next);
+                wordsFromCharacters(child(n, letter), path, score + charScore(next), rack, words);
+                path.setLength(path.length() - 1);
+                ++rack[letter];
+            }
+        }
+
+        if (rack[ALPHABET] > 0) {
+            --rack[ALPHABET];
+            for (int m = mask; m != 0; m &= m - 1) {
+                int letter = Integer.numberOfTrailingZeros(m);
+                char next = (char) ('A' + letter);
+                path.append(next);
+                wordsFromCharacters(child(n, letter), path, score + charScore(next), rack, words);
+                path.setLength(path.length() - 1);
+            }
+            ++rack[ALPHABET];
+        }
+    }
+
+    /**
+     *  Builds a list of the words contained by the graph that match
+     * with the given pattern string.
+     * @see Trie#wordsMatchString(String)
+     * @throws IllegalArgumentException if the pattern is longer than {@link WordPattern#MAX_LENGTH}
+     * @param search The pattern string to match
+     * @return the list of words that match the pattern
+     */
+    public List<String> wordsMatchString(String search) {
+        WordPattern pattern = compile(search);
+        return (pattern == null ? null : wordsMatchString(pattern));
+    }
+
+    /**
+     *  Builds a list of the words contained by the graph that match
+     * with the given compiled pattern.
+     * @see Trie#wordsMatchString(WordPattern)
+     * @param pattern the pattern to match
+     * @return the list of words that match the pattern
+     */
+    public List<String> wordsMatchString(WordPattern pattern) {
+        Queue<SearchResult> words = new PriorityQueue<>(SearchResult::compareByRank);
+
+        /** Only kept when a node and its positions fit in a long together **/
+        Set<Long> dead = (pattern.toString().length() < Integer.SIZE ? new HashSet<>() : null);
+
+        wordsMatchString(root(), new StringBuilder(), 0, pattern, pattern.start(), words, dead);
+
+        return (drain(words));
+    }
+
+    /**
+     *  Does the actual work of the {@link #wordsMatchString(WordPattern)}.
+     * A node shared by many words is often reached again with the same
+     * positions in the pattern, when nothing below it matched the first
+     * time it is not searched again.
+     * @param n       the current node to examine
+     * @param path    the characters leading to the current node
+     * @param score   the score of the characters leading to the current node
+     * @param pattern the pattern to match
+     * @param states  the positions in the pattern that reach this node
+     * @param words   the currently found words that match the given pattern
+     * @param dead    the nodes and positions that matched nothing, null if not kept
+     * @return if any word was found at or below the node
+     */
+    private boolean wordsMatchString(int n, StringBuilder path, int score, WordPattern pattern, long states, Queue<SearchResult> words, Set<Long> dead) {
+        long key = (states << Integer.SIZE) | n;
+        if (dead != null && dead.contains(key)) {
+            return (false);
+        }
+
+        boolean found = false;
+        int mask = mask(n);
+
+        if (word(n) && pattern.matches(states, mask != 0)) {
+            words.add(new SearchResult(path.toString(), score, 0));
+            found = true;
+        }
+
+        for (int m = mask; m != 0; m &= m - 1) {
+            int letter = Integer.numberOfTrailingZeros(m);
+            long next = pattern.step(states, letter);
+            if (next != 0L) {
+                char c = (char) ('A' + letter);
+                path.append(c);
+                found |= wordsMatchString(child(n, letter), path, score + charScore(c), pattern, next, words, dead);
+                path.setLength(path.length() - 1);
+            }
+        }
+
+        if (!found && dead != null) {
+            dead.add(key);
+        }
+        return (found);
+    }
+
+    /**
+     *  Finds words that fit the search string that can be built with the
+     * given characters. No limit on how many of those characters are used.
+     * @param search the search match string
+     * @param chars  the characters to use
+     * @return all results of the matching
+     */
+    public List<SearchResult> findWords(String search, char[] chars) {
+        return (findWords(search, NO_LIMIT, new CharacterCounter(chars)));
+    }
+
+    /**
+     *  Finds words that fit the search string that can be built with the
+     * given characters.
+     * @see Trie#findWords(String, int, CharacterCounter)
+     * @param search the search match string
+     * @param limit  the max number of characters to use from the given characters
+     * @param chars  the characters to use
+     * @return all results of the matching
+     */
+    public List<SearchResult> findWords(String search, int limit, CharacterCounter chars) {
+        if (chars == null || chars.remaining() == 0) {
+            return (new ArrayList<>());
+        }
+
+        Queue<SearchResult> words = new PriorityQueueTreeSet<>(SearchResult::compareByRank, SearchResult::compareByWord);
+
+        search = search.toUpperCase();
+
+        for (int i = 0; i < search.length(); ++i) {
+            char c = search.charAt(i);
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD || c == NULLABLE_WILD_CARD))
+                return (null);
+        }
+
+        for (Character c : chars) {
+            if (!(isUpperAlpha(c) || c == SINGLE_WILD_CARD))
+                return (null);
+        }
+
+        int len = -1;
+        for (int i=0; i<search.length(); ++i) {
+            if (search.charAt(i) != NULLABLE_WILD_CARD) {
+                len = i;
+                break;
+            }
+        }
+
+        int[] rack = rack(chars);
+        for (int i=0; i<=len; ++i) {
+            findWords(root(), new StringBuilder(), 0, search, i, i, words, rack, 0, limit, false);
+        }
+
+        return (drainResults(words));
+    }
+
+    /**
+     *  The meat of the {@link #findWords(String, int, CharacterCounter)}.
+     * @see Trie#findWords(String, int, CharacterCounter)
+     * @param n       the current node of the search
+     * @param path    the characters leading to the current node
+     * @param score   the score of the characters leading to the current node
+     * @param search  the search string
+     * @param start   the initial position of the results found in this call
+     * @param pos     the current position considered in the search string
+     * @param words   the words that have been found so far
+     * @param rack    the count of each character that can be used, see {@link Trie#rack(CharacterCounter)}
+     * @param used    the number of characters used so far
+     * @param limit   the max number of characters that can be used
+     * @param addable if the current call of this search can add words to the results
+     */
+    @SuppressWarnings("fallthrough")
+    private void findWords(int n, StringBuilder path, int score, String search, int start, int pos,
+                           Queue<SearchResult> words, int[] rack, int used, int limit, boolean addable) {
+        if (n == NONE) {
+            return;
+        }
+
+        if (search.length() == pos) {
+            if (addable && word(n)) {
+                words.add(new SearchResult(path.toString(), score, start));
+            }
+            return;
+        }
+
+        char c = search.charAt(pos);
+
+        switch (c) {
+            case NULLABLE_WILD_CARD :
+                if (addable && word(n)) {
+                    words.add(new SearchResult(path.toString(), score, start));
+                }
+                /** Also goes on as a single wild card **/
+
+            case SINGLE_WILD_CARD :
+                if (used != limit) {
+                    int mask = mask(n);
+
+                    for (int m = mask; m != 0; m &= m - 1) {
+                        int letter = Integer.numberOfTrailingZeros(m);
+                        if (rack[letter] > 0) {
+                            char next = (char) ('A' + letter);
+                            --rack[letter];
+                            path.append(next);
+                            findWords(child(n, letter), path, score + charScore(next), search, start, pos + 1, words, rack, used + 1, limit, addable);
+                            path.setLength(path.length() - 1);
+                            ++rack[letter];
+                        }
+                    }
+
+                    if (rack[ALPHABET] > 0) {
+                        --rack[ALPHABET];
+                        for (int m = mask; m != 0; m &= m - 1) {
+                            int letter = Integer.numberOfTrailingZeros(m);
+                            char next = (char) ('A' + letter);
+                            path.append(next);
+                            findWords(child(n, letter), path, score + charScore(next), search, start, pos + 1, words, rack, used + 1, limit, addable);
+                            path.setLength(path.length() - 1);
+                        }
+                        ++rack[ALPHABET];
+                    }
+                }
+                break;
+
+            default :
+                path.append(c);
+                findWords(child(n, c), path, score + charScore(c), search, start, pos + 1, words, rack, used, limit, true);
+                path.setLength(path.length() - 1);
+        }
+    }
+
+    /**
+     *  Empties the found results into a list of their words, ordered by score.
+     * @param words the results found
+     * @return the words of the results
+     */
+    private static List<String> drain(Queue<SearchResult> words) {
+        List<String> ret = new ArrayList<>();
+        while (!words.isEmpty()) {
+            ret.add(words.poll().getWord());
+        }
+        return (ret);
+    }
+
+    /**
+     *  Empties the found results into a list, ordered by score.
+     * @param words the results found
+     * @return the results
+     */
+    private static List<SearchResult> drainResults(Queue<SearchResult> words) {
+        List<SearchResult> ret = new ArrayList<>();
+        while (!words.isEmpty()) {
+            ret.add(words.poll());
+        }
+        return (ret);
+    }
+}
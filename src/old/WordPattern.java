@@ -0,0 +1,122 @@
+package old;
+
+import static old.Trie.*;
+
+/**
+ * <p>
+ * === Word Pattern ===
+ * </p><p>
+ * Created: Oct. 18, 2026
+ * </p><p>
+ *  A pattern string for {@link Trie#wordsMatchString(WordPattern)}
+ * compiled once so it can be matched any number of times. The pattern
+ * is run as a set of the positions in the pattern that the characters
+ * so far could have reached, held in the bits of a long. Moving every
+ * position past a character is a couple of bit operations, so a search
+ * visits each node once with a single set rather than once for each
+ * position as interpreting the pattern does.
+ * </p><p>
+ *  The wildcards mean the same as in {@link Trie#wordsMatchString(String)}:
+ * {@link Trie#SINGLE_WILD_CARD} is exactly one character,
+ * {@link Trie#MULTI_WILD_CARD} is one or more characters and
+ * {@link Trie#NULLABLE_WILD_CARD} is one character or, at the start of
+ * the pattern, none. A word may also end on a nullable wildcard if there
+ * are longer words that continue past it.
+ * </p>
+ */@SuppressWarnings("unused")
+public final class WordPattern {
+
+    /** The longest pattern that can be compiled, its positions and the end must fit in a long **/
+    public static final int MAX_LENGTH = Long.SIZE - 2;
+
+    /** The pattern string, upper case **/
+    private final String pattern;
+    /** For each character, the positions that move ahead on it **/
+    private final long[] advance;
+    /** The positions of {@link Trie#MULTI_WILD_CARD}, which also stay on any character **/
+    private final long stay;
+    /** The positions of {@link Trie#NULLABLE_WILD_CARD} **/
+    private final long nullable;
+    /** The position past the end of the pattern **/
+    private final long end;
+    /** The positions at the root, before any character **/
+    private final long start;
+
+    /**
+     *  Compiles the given pattern string.
+     * @throws IllegalArgumentException if the pattern has characters that are
+     * not allowed or is longer than {@link #MAX_LENGTH}
+     * @param search the pattern string
+     */
+    public WordPattern(String search) {
+        pattern = search.toUpperCase();
+
+        if (pattern.length() > MAX_LENGTH)
+            throw new IllegalArgumentException("Pattern longer than " + MAX_LENGTH + " characters: " + search);
+
+        long[] advance = new long[ALPHABET];
+        long stay = 0L;
+        long nullable = 0L;
+
+        for (int i=0; i<pattern.length(); ++i) {
+            char c = pattern.charAt(i);
+            long bit = 1L << i;
+
+            if (isUpperAlpha(c)) {
+                advance[c - 'A'] |= bit;
+            } else if (c == SINGLE_WILD_CARD || c == MULTI_WILD_CARD || c == NULLABLE_WILD_CARD) {
+                for (int j=0; j<ALPHABET; ++j)
+                    advance[j] |= bit;
+                if (c == MULTI_WILD_CARD)
+                    stay |= bit;
+                if (c == NULLABLE_WILD_CARD)
+                    nullable |= bit;
+            } else {
+                throw new IllegalArgumentException("Not a pattern character '" + c + "' in: " + search);
+            }
+        }
+
+        /** Leading nullable wildcards can be skipped **/
+        long start = 1L;
+        for (int i=0; i<pattern.length() && pattern.charAt(i) == NULLABLE_WILD_CARD; ++i)
+            start |= 1L << (i + 1);
+
+        this.advance = advance;
+        this.stay = stay;
+        this.nullable = nullable;
+        this.end = 1L << pattern.length();
+        this.start = start;
+    }
+
+    /**
+     * @return the positions before any character has been matched
+     */
+    long start() {
+        return (start);
+    }
+
+    /**
+     *  Moves each of the positions past a character.
+     * @param states the positions, bit i for position i
+     * @param letter the character, 0 for 'A' to 25 for 'Z'
+     * @return the positions after the character, 0 if none are left
+     */
+    long step(long states, int letter) {
+        return (((states & advance[letter]) << 1) | (states & stay));
+    }
+
+    /**
+     *  Checks if a word ending at the given positions matches.
+     * @param states   the positions after the last character of the word
+     * @param children if there are words that continue past the last character
+     * @return if the word matches the pattern
+     */
+    boolean matches(long states, boolean children) {
+        return ((states & end) != 0L || (children && (states & nullable) != 0L));
+    }
+
+    @Override
+    public String toString() {
+        return (pattern);
+    }
+}